@@ -0,0 +1,74 @@
+package ru.selestrel.challenge.aoc2023.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.selestrel.challenge.aoc2023.InputGenerator;
+import ru.selestrel.challenge.aoc2023.day2.BagQuery;
+import ru.selestrel.challenge.aoc2023.input.InputFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Day 2 games possible with many random bags: the {@link BagQuery#index} against the {@link BagQuery#scan} of all
+ * games for every bag, on a synthetic game log of size games. Building the index is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BagQueryBenchmark {
+
+    @Param("100000")
+    private int size;
+
+    @Param("1000")
+    private int bagCount;
+
+    private int[][] bags;
+    private BagQuery scan;
+    private BagQuery index;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path path = Files.createTempFile("day2-", ".txt");
+        path.toFile().deleteOnExit();
+        InputGenerator.forDay(2).generate(size, 42L, path);
+        InputFile input = InputFile.map(path);
+        scan = BagQuery.scan(input);
+        index = BagQuery.index(input);
+
+        Random random = new Random(42L);
+        bags = new int[bagCount][BagQuery.COLORS.size()];
+        for (int[] bag : bags) {
+            for (int color = 0; color < bag.length; color++) {
+                bag[color] = random.nextInt(25);
+            }
+        }
+    }
+
+    @Benchmark
+    public long[] scan() {
+        return scan.sumOfPossibleIds(bags);
+    }
+
+    @Benchmark
+    public long[] index() {
+        return index.sumOfPossibleIds(bags);
+    }
+}
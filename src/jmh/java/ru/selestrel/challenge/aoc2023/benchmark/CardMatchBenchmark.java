@@ -0,0 +1,125 @@
+package ru.selestrel.challenge.aoc2023.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.selestrel.challenge.aoc2023.day4.NumberSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Matching numbers of day 4 scratchcards with 10 winning numbers and 25 numbers you have (1-99): {@link NumberSet}
+ * bitmasks against the nested loop over int arrays and against the filter of the winning number strings by contains on
+ * the list of strings you have, the way the day was solved before. Parsing is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CardMatchBenchmark {
+
+    private static final int WINNING_NUMBERS = 10;
+    private static final int NUMBERS_YOU_HAVE = 25;
+    private static final int MAX_NUMBER = 99;
+
+    @Param("10000")
+    private int size;
+
+    private List<List<String>> winningLists;
+    private List<List<String>> listsYouHave;
+    private int[][] winningArrays;
+    private int[][] arraysYouHave;
+    private NumberSet[] winningSets;
+    private NumberSet[] setsYouHave;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42L);
+        winningLists = new ArrayList<>();
+        listsYouHave = new ArrayList<>();
+        winningArrays = new int[size][];
+        arraysYouHave = new int[size][];
+        winningSets = new NumberSet[size];
+        setsYouHave = new NumberSet[size];
+        for (int card = 0; card < size; card++) {
+            winningArrays[card] = randomNumbers(random, WINNING_NUMBERS);
+            arraysYouHave[card] = randomNumbers(random, NUMBERS_YOU_HAVE);
+            winningLists.add(toStrings(winningArrays[card]));
+            listsYouHave.add(toStrings(arraysYouHave[card]));
+            winningSets[card] = NumberSet.of(winningArrays[card]);
+            setsYouHave[card] = NumberSet.of(arraysYouHave[card]);
+        }
+    }
+
+    @Benchmark
+    public long lists() {
+        long matches = 0;
+        for (int card = 0; card < size; card++) {
+            matches += winningLists.get(card).stream().filter(listsYouHave.get(card)::contains)
+                    .collect(Collectors.toList()).size();
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public long arrays() {
+        long matches = 0;
+        for (int card = 0; card < size; card++) {
+            for (int winningNumber : winningArrays[card]) {
+                for (int number : arraysYouHave[card]) {
+                    if (number == winningNumber) {
+                        matches++;
+                        break;
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public long bitmasks() {
+        long matches = 0;
+        for (int card = 0; card < size; card++) {
+            matches += winningSets[card].countCommon(setsYouHave[card]);
+        }
+        return matches;
+    }
+
+    /**
+     * @return count different numbers in [1, MAX_NUMBER]
+     */
+    private static int[] randomNumbers(Random random, int count) {
+        int[] numbers = new int[MAX_NUMBER];
+        for (int i = 0; i < MAX_NUMBER; i++) {
+            numbers[i] = i + 1;
+        }
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(MAX_NUMBER - i);
+            int number = numbers[i];
+            numbers[i] = numbers[j];
+            numbers[j] = number;
+        }
+        return Arrays.copyOf(numbers, count);
+    }
+
+    private static List<String> toStrings(int[] numbers) {
+        return Arrays.stream(numbers).mapToObj(String::valueOf).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,118 @@
+package ru.selestrel.challenge.aoc2023.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.selestrel.challenge.aoc2023.day1.DigitScanner;
+import ru.selestrel.challenge.aoc2023.input.ByteView;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First puzzle of day 1 (only digits count) on lines of random letters with two digits at random positions: the
+ * vector and scalar {@link DigitScanner}s against indexOf and lastIndexOf of every digit on the line string, the way
+ * the day was solved before. The vector scanner is built by the vector profile (mvn -P jmh,vector package), it is
+ * created only for the vector benchmark, so the others run in the default benchmark build.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class DigitScannerBenchmark {
+
+    private static final List<String> DIGITS = List.of("0", "1", "2", "3", "4", "5", "6", "7", "8", "9");
+
+    @Param({"40", "1000"})
+    private int lineLength;
+
+    /**
+     * Total input size in bytes
+     */
+    @Param("16777216")
+    private int size;
+
+    private ByteView input;
+    private DigitScanner scalar;
+
+    @State(Scope.Benchmark)
+    public static class VectorScanner {
+
+        private DigitScanner scanner;
+
+        /**
+         * @throws IllegalStateException if the vector scanner is not built
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            scanner = DigitScanner.vector();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42L);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+        byte[] line = new byte[lineLength + 1];
+        while (buffer.remaining() >= line.length) {
+            for (int i = 0; i < lineLength; i++) {
+                line[i] = (byte) ('a' + random.nextInt(26));
+            }
+            line[random.nextInt(lineLength)] = (byte) ('0' + random.nextInt(10));
+            line[random.nextInt(lineLength)] = (byte) ('0' + random.nextInt(10));
+            line[lineLength] = '\n';
+            buffer.put(line);
+        }
+        input = new ByteView(buffer, 0, buffer.position());
+        scalar = DigitScanner.scalar();
+    }
+
+    @Benchmark
+    public long indexOf() {
+        long sum = 0;
+        for (ByteView line : input.lines()) {
+            String string = line.toString();
+            int firstIndex = string.length();
+            int lastIndex = -1;
+            String first = "";
+            String last = "";
+            for (String digit : DIGITS) {
+                int index = string.indexOf(digit);
+                if (index != -1 && index < firstIndex) {
+                    firstIndex = index;
+                    first = digit;
+                }
+                index = string.lastIndexOf(digit);
+                if (index > lastIndex) {
+                    lastIndex = index;
+                    last = digit;
+                }
+            }
+            sum += Integer.parseInt(first + last);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long scalar() {
+        return scalar.sum(input);
+    }
+
+    @Benchmark
+    public long vector(VectorScanner vector) {
+        return vector.scanner.sum(input);
+    }
+}
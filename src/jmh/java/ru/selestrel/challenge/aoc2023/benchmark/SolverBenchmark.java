@@ -0,0 +1,82 @@
+package ru.selestrel.challenge.aoc2023.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.selestrel.challenge.aoc2023.InputGenerator;
+import ru.selestrel.challenge.aoc2023.Solver;
+import ru.selestrel.challenge.aoc2023.input.InputFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse phase and both puzzles of every day, measured separately on the bundled input and on a synthetic input of the
+ * day generator. Synthetic input size is the generator default unless the size parameter is set (e.g.
+ * {@code -p size=1000000}). Must be run from the project root, because bundled inputs are resolved relative to it.
+ * Puzzles of {@link Solver#isSinglePass() single-pass} days only return answers computed by the parse phase.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12"})
+    private int day;
+
+    @Param({"bundled", "synthetic"})
+    private String source;
+
+    /**
+     * Synthetic input size, 0 for the generator default
+     */
+    @Param("0")
+    private int size;
+
+    private Solver<Object> solver;
+    private InputFile input;
+    private Object parsed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        solver = Solver.forDay(day);
+        Path path = solver.defaultInput();
+        if (source.equals("synthetic")) {
+            InputGenerator generator = InputGenerator.forDay(day);
+            path = Files.createTempFile("day" + day + "-", ".txt");
+            path.toFile().deleteOnExit();
+            generator.generate(size == 0 ? generator.defaultSize() : size, 42L, path);
+        }
+        input = InputFile.map(path);
+        parsed = solver.parse(input);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return solver.parse(input);
+    }
+
+    @Benchmark
+    public Object part1() {
+        return solver.part1(parsed);
+    }
+
+    @Benchmark
+    public Object part2() {
+        return solver.part2(parsed);
+    }
+}
@@ -0,0 +1,22 @@
+package ru.selestrel.challenge.aoc2023;
+
+import java.io.PrintStream;
+
+/**
+ * Answers of both puzzles of the day. A null value means the puzzle is not solved.
+ */
+public record Answer(int day, Object part1, Object part2) {
+
+    public void print() {
+        print(System.out);
+    }
+
+    public void print(PrintStream out) {
+        if (part1 != null) {
+            out.println("First puzzle result: " + part1);
+        }
+        if (part2 != null) {
+            out.println("Second puzzle result: " + part2);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package ru.selestrel.challenge.aoc2023;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Solve one day for many input files in one JVM. Inputs are a directory (all its files) or a glob
+ * (e.g. "inputs/**&#47;day1-*.txt"). Files are found lazily and solved on a fixed thread pool; at most two tasks per
+ * thread are queued, so memory does not depend on the number of files. Every answer is printed as soon as it is ready:
+ * path, first and second puzzle answers separated by tabs ("ERROR" and the message if the file can not be solved).
+ *
+ * Usage: BatchRunner day directory|glob [--threads=N] [--no-cache] [--cache-dir=path] [--cache-size=bytes]
+ */
+public class BatchRunner {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage: BatchRunner day directory|glob [--threads=N] [--no-cache] [--cache-dir=path] "
+                    + "[--cache-size=bytes]");
+            System.exit(1);
+        }
+
+        Solver<Object> solver = Solver.forDay(Integer.parseInt(args[0]));
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean useCache = true;
+        Path cacheDirectory = ResultCache.getDefaultDirectory();
+        long cacheSize = ResultCache.DEFAULT_MAX_SIZE;
+        for (int i = 2; i < args.length; i++) {
+            String arg = args[i];
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(value);
+            } else if (arg.equals("--no-cache")) {
+                useCache = false;
+            } else if (arg.startsWith("--cache-dir=")) {
+                cacheDirectory = Path.of(value);
+            } else if (arg.startsWith("--cache-size=")) {
+                cacheSize = Long.parseLong(value);
+            } else {
+                throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+        ResultCache cache = useCache ? new ResultCache(cacheDirectory, cacheSize) : null;
+
+        long start = System.nanoTime();
+        AtomicInteger solved = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        Semaphore queue = new Semaphore(threads * 2);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (Stream<Path> inputs = findInputs(args[1])) {
+            Iterator<Path> iterator = inputs.iterator();
+            while (iterator.hasNext()) {
+                Path input = iterator.next();
+                queue.acquire();
+                executor.execute(() -> {
+                    try {
+                        Answer answer = cache == null ? solver.solve(input) : cache.solve(solver, input, m -> {
+                        });
+                        print(input + "\t" + answer.part1() + "\t" + answer.part2());
+                        solved.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        print(input + "\tERROR\t" + e);
+                        failed.incrementAndGet();
+                    } finally {
+                        queue.release();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+
+        System.err.printf("Solved %d files (%d failed) in %d ms%n", solved.get(), failed.get(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static synchronized void print(String line) {
+        System.out.println(line);
+    }
+
+    /**
+     * @return regular files of the directory, or files matching the glob. The glob is matched against files under its
+     * longest leading directory without wildcards
+     */
+    private static Stream<Path> findInputs(String location) throws IOException {
+        if (Files.isDirectory(Path.of(location))) {
+            return Files.walk(Path.of(location), 1).filter(Files::isRegularFile);
+        }
+
+        Path base = Path.of(location.startsWith("/") ? "/" : ".");
+        for (String part : location.split("/")) {
+            if (part.matches(".*[*?\\[{].*")) {
+                break;
+            }
+            base = base.resolve(part);
+        }
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + location);
+        return Files.walk(base)
+                .filter(Files::isRegularFile)
+                .filter(file -> matcher.matches(file.normalize()));
+    }
+}
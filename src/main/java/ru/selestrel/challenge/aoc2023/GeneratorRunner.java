@@ -0,0 +1,26 @@
+package ru.selestrel.challenge.aoc2023;
+
+import java.nio.file.Path;
+
+/**
+ * Write a synthetic input of the day to a file.
+ *
+ * Usage: GeneratorRunner day output [size] [seed]
+ */
+public class GeneratorRunner {
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: GeneratorRunner day output [size] [seed]");
+            System.exit(1);
+        }
+
+        InputGenerator generator = InputGenerator.forDay(Integer.parseInt(args[0]));
+        Path output = Path.of(args[1]);
+        int size = args.length > 2 ? Integer.parseInt(args[2]) : generator.defaultSize();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 0L;
+
+        generator.generate(size, seed, output);
+        System.out.println("Day " + generator.day() + " input of size " + size + " written to " + output);
+    }
+}
@@ -0,0 +1,54 @@
+package ru.selestrel.challenge.aoc2023;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.ServiceLoader;
+
+/**
+ * Generator of valid synthetic inputs of configurable size for one day. The meaning of size depends on the day (lines,
+ * grid side, record length...) and is described by each implementation. The same size and seed always produce the
+ * same input. Implementations are registered in
+ * {@code META-INF/services/ru.selestrel.challenge.aoc2023.InputGenerator}.
+ */
+public interface InputGenerator {
+
+    int day();
+
+    /**
+     * @return size that the current solver handles in about a second
+     */
+    int defaultSize();
+
+    void generate(int size, Random random, Writer out) throws IOException;
+
+    default void generate(int size, long seed, Path path) {
+        try (BufferedWriter out = Files.newBufferedWriter(path)) {
+            generate(size, new Random(seed), out);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return all registered generators ordered by day
+     */
+    static List<InputGenerator> loadAll() {
+        return ServiceLoader.load(InputGenerator.class).stream()
+                .map(ServiceLoader.Provider::get)
+                .sorted(Comparator.comparingInt(InputGenerator::day))
+                .toList();
+    }
+
+    static InputGenerator forDay(int day) {
+        return loadAll().stream()
+                .filter(generator -> generator.day() == day)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No input generator for day " + day));
+    }
+}
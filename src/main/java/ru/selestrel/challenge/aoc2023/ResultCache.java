@@ -0,0 +1,219 @@
+package ru.selestrel.challenge.aoc2023;
+
+import ru.selestrel.challenge.aoc2023.input.InputFile;
+import ru.selestrel.challenge.aoc2023.instrument.Measurement;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Persistent cache of answers. The key is a SHA-256 hash of the day, the solver version and settings and the input
+ * bytes, so an answer is reused only for the same input solved by the same code with the same settings. Every answer
+ * is a small file in the cache directory, its modification time is the last access time. When the directory grows
+ * over the size limit the least recently used answers are deleted.
+ */
+public class ResultCache {
+
+    public static final long DEFAULT_MAX_SIZE = 1024 * 1024;
+
+    private static final String EXTENSION = ".answer";
+    //solvers depend on the code of these packages besides their own: the solver API and input parsing
+    private static final List<Class<?>> SHARED_PACKAGES = List.of(Solver.class, InputFile.class);
+
+    private final Path directory;
+    private final long maxSize;
+    private final Map<Class<?>, String> versions = new ConcurrentHashMap<>();
+
+    public ResultCache(Path directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return aoc.cache.dir system property, or aoc-2023 directory in $XDG_CACHE_HOME or ~/.cache
+     */
+    public static Path getDefaultDirectory() {
+        String directory = System.getProperty("aoc.cache.dir");
+        if (directory != null) {
+            return Path.of(directory);
+        }
+        String cacheHome = System.getenv("XDG_CACHE_HOME");
+        return (cacheHome == null ? Path.of(System.getProperty("user.home"), ".cache") : Path.of(cacheHome))
+                .resolve("aoc-2023");
+    }
+
+    /**
+     * Return the cached answer or solve the day and cache its answer. Measurements are passed to the listener only
+     * if the day is actually solved.
+     */
+    public <T> Answer solve(Solver<T> solver, Path path, Consumer<Measurement> listener) {
+        String key = getKey(solver, InputFile.map(path));
+        return get(key, solver.day()).orElseGet(() -> {
+            Answer answer = solver.solve(path, listener);
+            put(key, answer);
+            return answer;
+        });
+    }
+
+    public String getKey(Solver<?> solver, InputFile input) {
+        MessageDigest digest = getDigest();
+        digest.update(("day:" + solver.day() + "\nversion:" + getVersion(solver) + "\nsettings:" + solver.settings()
+                + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+        digest.update(input.content().buffer().duplicate());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public Optional<Answer> get(String key, int day) {
+        Path file = directory.resolve(key + EXTENSION);
+        try {
+            List<String> lines = Files.readAllLines(file);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return Optional.of(new Answer(day, getValue(lines.get(0)), getValue(lines.get(1))));
+        } catch (IOException | IndexOutOfBoundsException e) {
+            //missing or broken entry, it will be overwritten
+            return Optional.empty();
+        }
+    }
+
+    public synchronized void put(String key, Answer answer) {
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            Files.writeString(temp, toLine(answer.part1()) + "\n" + toLine(answer.part2()) + "\n");
+            Path file = directory.resolve(key + EXTENSION);
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            evict();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private record Entry(Path file, FileTime accessTime, long size) {
+    }
+
+    /**
+     * Delete the least recently used answers until the cache fits into the size limit
+     */
+    private void evict() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        long size = 0;
+        try (Stream<Path> list = Files.list(directory)) {
+            for (Path file : list.filter(file -> file.getFileName().toString().endsWith(EXTENSION)).toList()) {
+                try {
+                    Entry entry = new Entry(file, Files.getLastModifiedTime(file), Files.size(file));
+                    entries.add(entry);
+                    size += entry.size();
+                } catch (NoSuchFileException e) {
+                    //deleted by another process
+                }
+            }
+        }
+
+        entries.sort(Comparator.comparing(Entry::accessTime));
+        for (int i = 0; i < entries.size() && size > maxSize; i++) {
+            Files.deleteIfExists(entries.get(i).file());
+            size -= entries.get(i).size();
+        }
+    }
+
+    /**
+     * Solver version is a hash of class files of the solver package and of the shared packages, so any change of the
+     * day code or of the common parsing code invalidates its cached answers.
+     */
+    private String getVersion(Solver<?> solver) {
+        return versions.computeIfAbsent(solver.getClass(), ResultCache::getCodeHash);
+    }
+
+    private static String getCodeHash(Class<?> type) {
+        MessageDigest digest = getDigest();
+        updatePackage(digest, type);
+        for (Class<?> shared : SHARED_PACKAGES) {
+            if (!shared.getPackageName().equals(type.getPackageName())) {
+                updatePackage(digest, shared);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Add class files of the package of the type to the digest
+     */
+    private static void updatePackage(MessageDigest digest, Class<?> type) {
+        String packagePath = type.getPackageName().replace('.', '/') + "/";
+        try {
+            URL location = type.getProtectionDomain().getCodeSource() == null ? null
+                    : type.getProtectionDomain().getCodeSource().getLocation();
+            Path source = location == null ? null : Path.of(location.toURI());
+            if (source == null) {
+                //no class files (e.g. native image): the binary is rebuilt for every code change anyway
+                digest.update(type.getName().getBytes(StandardCharsets.UTF_8));
+            } else if (Files.isDirectory(source)) {
+                try (Stream<Path> list = Files.list(source.resolve(packagePath))) {
+                    for (Path file : list.filter(Files::isRegularFile).sorted().toList()) {
+                        digest.update(file.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+                        digest.update(Files.readAllBytes(file));
+                    }
+                }
+            } else {
+                try (JarFile jar = new JarFile(source.toFile())) {
+                    List<JarEntry> entries = jar.stream()
+                            .filter(entry -> entry.getName().startsWith(packagePath) && !entry.isDirectory()
+                                    && entry.getName().indexOf('/', packagePath.length()) == -1)
+                            .sorted(Comparator.comparing(JarEntry::getName))
+                            .toList();
+                    for (JarEntry entry : entries) {
+                        digest.update(entry.getName().getBytes(StandardCharsets.UTF_8));
+                        try (InputStream in = jar.getInputStream(entry)) {
+                            digest.update(in.readAllBytes());
+                        }
+                    }
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static MessageDigest getDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String toLine(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static Object getValue(String line) {
+        return line.isEmpty() ? null : line;
+    }
+}
@@ -0,0 +1,106 @@
+package ru.selestrel.challenge.aoc2023;
+
+import ru.selestrel.challenge.aoc2023.instrument.Measurement;
+import ru.selestrel.challenge.aoc2023.instrument.Report;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Run all registered solvers (or only days passed as arguments) concurrently in one JVM and print answers in day
+ * order. With --report the time and allocations of every phase are reported as JSON or CSV, to stdout after the
+ * answers or to --report-file; days are solved one at a time then, because allocations are counted over all threads
+ * (see {@link ru.selestrel.challenge.aoc2023.instrument.Instrumentation}). Answers are cached (see
+ * {@link ResultCache}) unless --no-cache is set, days answered from the cache are not measured.
+ *
+ * Usage: Runner [--report=json|csv] [--report-file=path] [--no-cache] [--cache-dir=path] [--cache-size=bytes]
+ * [day...]
+ */
+public class Runner {
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        Set<Integer> days = new HashSet<>();
+        Report.Format reportFormat = null;
+        Path reportFile = null;
+        boolean useCache = true;
+        Path cacheDirectory = ResultCache.getDefaultDirectory();
+        long cacheSize = ResultCache.DEFAULT_MAX_SIZE;
+        for (String arg : args) {
+            if (arg.startsWith("--report=")) {
+                reportFormat = Report.Format.valueOf(getValue(arg).toUpperCase(Locale.ROOT));
+            } else if (arg.startsWith("--report-file=")) {
+                reportFile = Path.of(getValue(arg));
+            } else if (arg.equals("--no-cache")) {
+                useCache = false;
+            } else if (arg.startsWith("--cache-dir=")) {
+                cacheDirectory = Path.of(getValue(arg));
+            } else if (arg.startsWith("--cache-size=")) {
+                cacheSize = Long.parseLong(getValue(arg));
+            } else {
+                days.add(Integer.valueOf(arg));
+            }
+        }
+        List<Solver<Object>> solvers = Solver.loadAll().stream()
+                .filter(solver -> days.isEmpty() || days.contains(solver.day()))
+                .toList();
+        ResultCache cache = useCache ? new ResultCache(cacheDirectory, cacheSize) : null;
+
+        ConcurrentLinkedQueue<Measurement> measurements = new ConcurrentLinkedQueue<>();
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(
+                reportFormat == null ? Runtime.getRuntime().availableProcessors() : 1);
+        try {
+            List<Future<Answer>> answers = new ArrayList<>();
+            for (Solver<Object> solver : solvers) {
+                answers.add(executor.submit(() -> cache == null
+                        ? solver.solve(solver.defaultInput(), measurements::add)
+                        : cache.solve(solver, solver.defaultInput(), measurements::add)));
+            }
+
+            for (Future<Answer> future : answers) {
+                Answer answer = getAnswer(future);
+                System.out.println("Day " + answer.day());
+                answer.print();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        System.out.printf("Solved %d days in %d ms%n", solvers.size(), (System.nanoTime() - start) / 1_000_000);
+
+        if (reportFormat != null) {
+            List<Measurement> report = new ArrayList<>(measurements);
+            if (reportFile == null) {
+                Report.write(report, reportFormat, new PrintWriter(System.out));
+            } else {
+                try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(reportFile))) {
+                    Report.write(report, reportFormat, out);
+                }
+            }
+        }
+    }
+
+    private static String getValue(String option) {
+        return option.substring(option.indexOf('=') + 1);
+    }
+
+    private static Answer getAnswer(Future<Answer> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
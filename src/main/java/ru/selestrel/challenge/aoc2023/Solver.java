@@ -0,0 +1,110 @@
+package ru.selestrel.challenge.aoc2023;
+
+import ru.selestrel.challenge.aoc2023.input.InputFile;
+import ru.selestrel.challenge.aoc2023.instrument.Instrumentation;
+import ru.selestrel.challenge.aoc2023.instrument.Measurement;
+import ru.selestrel.challenge.aoc2023.instrument.Phase;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.function.Consumer;
+
+/**
+ * Solution of one day. The input is parsed once and both puzzles are solved on the parsed value, so the phases can be
+ * run (and measured) separately. A {@link #isSinglePass() single-pass} solver is the exception: it computes both
+ * answers while it parses and its puzzle phases only return them. Implementations are registered in
+ * {@code META-INF/services/ru.selestrel.challenge.aoc2023.Solver} and must not keep state between calls.
+ *
+ * @param <T> parsed input type
+ */
+public interface Solver<T> {
+
+    int day();
+
+    T parse(InputFile input);
+
+    /**
+     * @return first puzzle answer or null if the puzzle is not solved
+     */
+    Object part1(T input);
+
+    /**
+     * @return second puzzle answer or null if the puzzle is not solved
+     */
+    Object part2(T input);
+
+    /**
+     * @return description of the settings that change answers besides the input and the code (e.g. a dictionary file
+     * set by a system property), it is a part of the cached answer key
+     */
+    default String settings() {
+        return "";
+    }
+
+    /**
+     * @return true if both answers are computed in the parse phase (e.g. to read a large file once), then the parse
+     * measurement includes both puzzles and the puzzle measurements include nothing
+     */
+    default boolean isSinglePass() {
+        return false;
+    }
+
+    /**
+     * @return bundled puzzle input of the day
+     */
+    default Path defaultInput() {
+        return Path.of("src/main/java/ru/selestrel/challenge/aoc2023/day" + day() + "/input.txt");
+    }
+
+    default Answer solve(Path path) {
+        return solve(path, measurement -> {
+        });
+    }
+
+    /**
+     * Solve the day on the current thread and pass measurements of the parse (including mapping of the file) and
+     * both puzzles phases to the listener
+     */
+    default Answer solve(Path path, Consumer<Measurement> listener) {
+        boolean singlePass = isSinglePass();
+        T parsed = Instrumentation.measure(day(), Phase.PARSE, singlePass, () -> parse(InputFile.map(path)), listener);
+        Object part1 = Instrumentation.measure(day(), Phase.PART1, singlePass, () -> part1(parsed), listener);
+        Object part2 = Instrumentation.measure(day(), Phase.PART2, singlePass, () -> part2(parsed), listener);
+        return new Answer(day(), part1, part2);
+    }
+
+    default Answer solve() {
+        return solve(defaultInput());
+    }
+
+    /**
+     * @return all registered solvers ordered by day
+     */
+    static List<Solver<Object>> loadAll() {
+        return load().stream()
+                .map(ServiceLoader.Provider::get)
+                .sorted(Comparator.comparingInt(Solver::day))
+                .toList();
+    }
+
+    /**
+     * Only solvers in the package of the day (dayN) are instantiated
+     */
+    static Solver<Object> forDay(int day) {
+        return load().stream()
+                .filter(provider -> provider.type().getPackageName().endsWith(".day" + day))
+                .map(ServiceLoader.Provider::get)
+                .filter(solver -> solver.day() == day)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No solver for day " + day));
+    }
+
+    private static ServiceLoader<Solver<Object>> load() {
+        //solvers are used through their own parse results only, so the parsed type is erased once for all of them
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ServiceLoader<Solver<Object>> loader = (ServiceLoader) ServiceLoader.load(Solver.class);
+        return loader;
+    }
+}
@@ -0,0 +1,29 @@
+package ru.selestrel.challenge.aoc2023;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * Solve one day reading the input from stdin (or a file) line by line, see {@link StreamingSolver}. Memory does not
+ * depend on the input size, so inputs of any size can be piped in without heap tuning.
+ *
+ * Usage: StreamRunner day [input]
+ */
+public class StreamRunner {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: StreamRunner day [input]");
+            System.exit(1);
+        }
+
+        StreamingSolver solver = StreamingSolver.forDay(Integer.parseInt(args[0]));
+        try (ReadableByteChannel channel = args.length > 1 ? FileChannel.open(Path.of(args[1]))
+                : Channels.newChannel(System.in)) {
+            solver.solve(channel).print();
+        }
+    }
+}
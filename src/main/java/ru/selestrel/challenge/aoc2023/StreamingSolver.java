@@ -0,0 +1,54 @@
+package ru.selestrel.challenge.aoc2023;
+
+import ru.selestrel.challenge.aoc2023.input.ByteView;
+import ru.selestrel.challenge.aoc2023.input.LineReader;
+
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Solution of a day that folds the input line by line into running answers, so the input is never kept in memory.
+ * Implemented by the {@link Solver} of the day in addition to the usual parse and puzzle phases.
+ */
+public interface StreamingSolver {
+
+    int day();
+
+    /**
+     * @return empty state for one input
+     */
+    Fold newFold();
+
+    /**
+     * Running answers of one input
+     */
+    interface Fold {
+
+        /**
+         * Add the next line. The view is valid only during the call and must not be kept.
+         */
+        void accept(ByteView line);
+
+        /**
+         * @return first puzzle answer of all lines added so far, or null if the puzzle is not solved
+         */
+        Object part1();
+
+        /**
+         * @return second puzzle answer of all lines added so far, or null if the puzzle is not solved
+         */
+        Object part2();
+    }
+
+    default Answer solve(ReadableByteChannel channel) {
+        Fold fold = newFold();
+        new LineReader(channel).forEach(fold::accept);
+        return new Answer(day(), fold.part1(), fold.part2());
+    }
+
+    static StreamingSolver forDay(int day) {
+        if (Solver.forDay(day) instanceof StreamingSolver solver) {
+            return solver;
+        }
+        throw new IllegalArgumentException("Day " + day + " can not be solved in streaming mode");
+    }
+}
@@ -0,0 +1,59 @@
+package ru.selestrel.challenge.aoc2023.day1;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Tokens that count as digits in the second puzzle, read from a UTF-8 properties file of token=digit lines. The
+ * default is digits.properties (digits and English names) next to this class, the aoc.day1.dictionary system property
+ * replaces it with a file, e.g. with names in other languages. Tokens are compiled into {@link TokenAutomaton}s, so
+ * adding words does not make matching slower.
+ */
+final class Dictionary {
+
+    private static final String DEFAULT = "digits.properties";
+
+    private Dictionary() {
+    }
+
+    /**
+     * @return tokens of the aoc.day1.dictionary file or of the default dictionary, in token order
+     */
+    static Map<String, Integer> load() {
+        String path = System.getProperty("aoc.day1.dictionary");
+        try (InputStream in = path == null ? Dictionary.class.getResourceAsStream(DEFAULT)
+                : Files.newInputStream(Path.of(path))) {
+            if (in == null) {
+                throw new IllegalStateException("No default dictionary " + DEFAULT);
+            }
+            return read(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static Map<String, Integer> read(Reader reader) throws IOException {
+        Properties properties = new Properties();
+        properties.load(reader);
+        Map<String, Integer> tokens = new TreeMap<>();
+        for (String token : properties.stringPropertyNames()) {
+            String value = properties.getProperty(token).trim();
+            if (token.isEmpty() || !value.matches("[0-9]")) {
+                throw new IllegalArgumentException("Dictionary entry must be token=digit: " + token + "=" + value);
+            }
+            tokens.put(token, Integer.parseInt(value));
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Dictionary is empty");
+        }
+        return tokens;
+    }
+}
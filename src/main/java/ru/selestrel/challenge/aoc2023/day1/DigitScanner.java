@@ -0,0 +1,98 @@
+package ru.selestrel.challenge.aoc2023.day1;
+
+import ru.selestrel.challenge.aoc2023.input.ByteView;
+
+import java.util.Locale;
+
+/**
+ * Search of ASCII digits and line breaks for the first puzzle, where spelled digits do not count. The vector
+ * implementation checks a whole {@code jdk.incubator.vector.ByteVector} at once. It is compiled by the vector build
+ * profile only, so the default build does not depend on the incubating module, and it is used when it is built and
+ * the JVM runs with {@code --add-modules jdk.incubator.vector}; otherwise bytes are checked one by one. The choice can
+ * be forced with the aoc.day1.scanner system property (scalar or vector). The day 1 solver finds the first digit in its
+ * own walk over a line and uses the scanner to search the rest of the line for the line break.
+ */
+public interface DigitScanner {
+
+    /**
+     * @return index of the first line break at or after from, or -1
+     */
+    int indexOfNewLine(ByteView view, int from);
+
+    /**
+     * @return index of the first digit in [from, to), or -1
+     */
+    int indexOfFirstDigit(ByteView view, int from, int to);
+
+    /**
+     * @return index of the last digit in [from, to), or -1
+     */
+    int indexOfLastDigit(ByteView view, int from, int to);
+
+    /**
+     * @return sum of two-digit numbers made of the first and the last digit of every line
+     */
+    default long sum(ByteView view) {
+        long sum = 0;
+        int start = 0;
+        while (start < view.length()) {
+            int end = indexOfNewLine(view, start);
+            end = end == -1 ? view.length() : end;
+            int first = indexOfFirstDigit(view, start, end);
+            if (first == -1) {
+                throw new IllegalArgumentException("No digits in line \"" + view.slice(start, end) + "\"");
+            }
+            int last = indexOfLastDigit(view, first, end);
+            sum += (view.byteAt(first) - '0') * 10 + view.byteAt(last) - '0';
+            start = end + 1;
+        }
+        return sum;
+    }
+
+    static DigitScanner scalar() {
+        return new ScalarDigitScanner();
+    }
+
+    /**
+     * @throws IllegalStateException if the vector scanner is not built or the vector module is not added to the JVM
+     */
+    static DigitScanner vector() {
+        if (!isVectorSupported()) {
+            throw new IllegalStateException("Build with -P vector and run with --add-modules jdk.incubator.vector to "
+                    + "use the vector scanner");
+        }
+        try {
+            return (DigitScanner) Class.forName(getVectorClassName()).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static boolean isVectorSupported() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+                && DigitScanner.class.getClassLoader().getResource(getVectorClassName().replace('.', '/') + ".class")
+                != null;
+    }
+
+    /**
+     * The vector scanner is loaded by name, so the class is not needed to compile the rest of the code
+     */
+    private static String getVectorClassName() {
+        return DigitScanner.class.getPackageName() + ".VectorDigitScanner";
+    }
+
+    /**
+     * @return scanner set by the aoc.day1.scanner property, or the vector scanner if it is supported
+     */
+    static DigitScanner select() {
+        String name = System.getProperty("aoc.day1.scanner");
+        if (name == null) {
+            return isVectorSupported() ? vector() : scalar();
+        }
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "scalar" -> scalar();
+            case "vector" -> vector();
+            default -> throw new IllegalArgumentException("Unknown digit scanner " + name);
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package ru.selestrel.challenge.aoc2023.day1;
+
+import ru.selestrel.challenge.aoc2023.InputGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Calibration document of size lines. Lines are random lowercase letters mixed with digits and spelled digits; every
+ * line contains at least one digit.
+ */
+public class Generator implements InputGenerator {
+
+    private static final String[] WORDS = {"zero", "one", "two", "three", "four", "five", "six", "seven", "eight",
+            "nine"};
+
+    @Override
+    public int day() {
+        return 1;
+    }
+
+    @Override
+    public int defaultSize() {
+        return 100_000;
+    }
+
+    @Override
+    public void generate(int size, Random random, Writer out) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            line.setLength(0);
+            int length = 5 + random.nextInt(40);
+            boolean hasDigit = false;
+            while (line.length() < length) {
+                int kind = random.nextInt(10);
+                if (kind < 7) {
+                    line.append((char) ('a' + random.nextInt(26)));
+                } else if (kind < 8) {
+                    line.append((char) ('0' + random.nextInt(10)));
+                    hasDigit = true;
+                } else {
+                    line.append(WORDS[random.nextInt(WORDS.length)]);
+                }
+            }
+            if (!hasDigit) {
+                line.insert(random.nextInt(line.length() + 1), (char) ('0' + random.nextInt(10)));
+            }
+            out.append(line).append('\n');
+        }
+    }
+}
@@ -1,80 +1,173 @@
 package ru.selestrel.challenge.aoc2023.day1;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.List;
-import java.util.Scanner;
-
-enum Digit{
-    ZERO("0"),
-    ONE("1"),
-    TWO("2"),
-    THREE("3"),
-    FOUR("4"),
-    FIVE("5"),
-    SIX("6"),
-    SEVEN("7"),
-    EIGHT("8"),
-    NINE("9");
-
-    private String digit;
-
-    Digit(String digit) {
-        this.digit = digit;
+import ru.selestrel.challenge.aoc2023.Solver;
+import ru.selestrel.challenge.aoc2023.StreamingSolver;
+import ru.selestrel.challenge.aoc2023.input.ByteView;
+import ru.selestrel.challenge.aoc2023.input.InputFile;
+import ru.selestrel.challenge.aoc2023.input.LineChunks;
+
+import java.util.Map;
+
+/**
+ * In the first puzzle only digits count, in the second one digits may be spelled out with letters (the names are read
+ * from a {@link Dictionary}). Both sums are computed in one pass over the file in the parse phase: every line is
+ * searched for digits and for spelled digits in one forward and one backward walk while it is in the cache, so a file
+ * larger than the page cache is read once. Lines are independent, so large inputs are summed in chunks on all cores.
+ */
+public class Main implements Solver<Main.Calibration>, StreamingSolver {
+
+    /**
+     * Dictionary and digit scanner depend on system properties, so they are loaded on the first use of the day: bad
+     * settings fail day 1 only, not every solver instantiated by the service loader
+     */
+    private static final class Digits {
+
+        static final Map<String, Integer> TOKENS = Dictionary.load();
+        static final TokenAutomaton FORWARD = TokenAutomaton.forward(TOKENS);
+        static final TokenAutomaton BACKWARD = TokenAutomaton.reversed(TOKENS);
+        static final DigitScanner SCANNER = DigitScanner.select();
     }
 
-    public String getDigit() {
-        return digit;
+    /**
+     * @param digitsSum sum of the first puzzle, lines without digits are not counted
+     * @param sum sum of the second puzzle
+     */
+    record Calibration(long digitsSum, long sum) {
+
+        Calibration add(Calibration other) {
+            return new Calibration(digitsSum + other.digitsSum(), sum + other.sum());
+        }
     }
 
-}
+    public static void main(String[] args) {
+        new Main().solve().print();
+    }
 
-public class Main {
+    @Override
+    public int day() {
+        return 1;
+    }
 
-    public static void main(String[] args) throws FileNotFoundException {
+    @Override
+    public String settings() {
+        return "dictionary:" + Digits.TOKENS;
+    }
 
-        File input = new File("src/main/java/ru/selestrel/challenge/aoc2023/day1/input.txt");
-        Scanner reader = new Scanner(input);
+    @Override
+    public boolean isSinglePass() {
+        return true;
+    }
 
-        long result = 0;
-        while (reader.hasNextLine()) {
-            String data = reader.nextLine();
-            result += Integer.parseInt(findFirstAndLastDigits(data));
-        }
+    @Override
+    public Calibration parse(InputFile input) {
+        return LineChunks.split(input.content(), LineChunks.DEFAULT_CHUNK_SIZE).parallelStream()
+                .map(Main::calibrate)
+                .reduce(new Calibration(0, 0), Calibration::add);
+    }
+
+    @Override
+    public Object part1(Calibration calibration) {
+        return calibration.digitsSum();
+    }
 
-        System.out.println(result);
+    @Override
+    public Object part2(Calibration calibration) {
+        return calibration.sum();
+    }
+
+    @Override
+    public Fold newFold() {
+        return new Fold() {
+            private Calibration calibration = new Calibration(0, 0);
+
+            @Override
+            public void accept(ByteView line) {
+                calibration = calibration.add(calibrate(line));
+            }
+
+            @Override
+            public Object part1() {
+                return calibration.digitsSum();
+            }
 
-        reader.close();
+            @Override
+            public Object part2() {
+                return calibration.sum();
+            }
+        };
     }
 
-    private static String findFirstAndLastDigits(String string) {
-        List<String> searchValues = List.of("0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "zero",
-                "one", "two", "three", "four", "five", "six", "seven", "eight", "nine");
-        String last = "";
-        int lastIndex = 0;
-        String first = "";
-        int firstIndex = string.length();
-        for (String search : searchValues) {
-            int index = string.indexOf(search);
-            if (index != -1 && index <= firstIndex) {
-                firstIndex = index;
-                first = search;
+    /**
+     * Every line is walked forward to its line break and backward from it. The forward walk finds the first digit and
+     * the first token; a token ending later may start earlier, so tokens are matched until no token can start before
+     * the found one, then the rest of the line is searched for the line break only. The backward walk finds the last
+     * digit and the last token and stops when it has both.
+     *
+     * @return sums of two-digit numbers made of the first and the last digit of every line, without and with spelled
+     * digits
+     */
+    private static Calibration calibrate(ByteView view) {
+        TokenAutomaton forward = Digits.FORWARD;
+        TokenAutomaton backward = Digits.BACKWARD;
+        long digitsSum = 0;
+        long sum = 0;
+        int start = 0;
+        while (start < view.length()) {
+            int state = 0;
+            int firstDigit = -1;
+            int firstStart = Integer.MAX_VALUE;
+            int first = -1;
+            int end = start;
+            while (end < view.length()) {
+                byte value = view.byteAt(end);
+                if (value == '\n') {
+                    break;
+                }
+                if (firstDigit == -1 && ScalarDigitScanner.isDigit(value)) {
+                    firstDigit = end;
+                }
+                if (end - forward.maxLength() < firstStart - 1) {
+                    state = forward.next(state, value);
+                    int length = forward.tokenLength(state);
+                    if (length > 0 && end - length + 1 < firstStart) {
+                        firstStart = end - length + 1;
+                        first = forward.tokenValue(state);
+                    }
+                } else if (firstDigit != -1) {
+                    end = Digits.SCANNER.indexOfNewLine(view, end);
+                    end = end == -1 ? view.length() : end;
+                    break;
+                }
+                end++;
             }
-            index = string.lastIndexOf(search);
-            if (index >= lastIndex) {
-                lastIndex = index;
-                last = search;
+            if (first == -1) {
+                throw new IllegalArgumentException("No digits in line \"" + view.slice(start, end) + "\"");
             }
-        }
 
-        if (first.length() > 1) {
-            first = Digit.valueOf(first.toUpperCase()).getDigit();
-        }
+            //a line with a token has a last token, a line with a digit has a last digit
+            state = 0;
+            int last = -1;
+            int lastDigit = -1;
+            for (int i = end - 1; last == -1 || firstDigit != -1 && lastDigit == -1; i--) {
+                byte value = view.byteAt(i);
+                if (lastDigit == -1 && ScalarDigitScanner.isDigit(value)) {
+                    lastDigit = i;
+                }
+                if (last == -1) {
+                    state = backward.next(state, value);
+                    if (backward.tokenLength(state) > 0) {
+                        last = backward.tokenValue(state);
+                    }
+                }
+            }
 
-        if (last.length() > 1) {
-            last = Digit.valueOf(last.toUpperCase()).getDigit();
+            sum += first * 10 + last;
+            if (firstDigit != -1) {
+                digitsSum += (view.byteAt(firstDigit) - '0') * 10 + view.byteAt(lastDigit) - '0';
+            }
+            start = end + 1;
         }
 
-        return first + last;
+        return new Calibration(digitsSum, sum);
     }
 }
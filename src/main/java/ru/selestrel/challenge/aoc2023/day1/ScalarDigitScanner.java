@@ -0,0 +1,38 @@
+package ru.selestrel.challenge.aoc2023.day1;
+
+import ru.selestrel.challenge.aoc2023.input.ByteView;
+
+/**
+ * Checks bytes one by one
+ */
+final class ScalarDigitScanner implements DigitScanner {
+
+    @Override
+    public int indexOfNewLine(ByteView view, int from) {
+        return view.indexOf((byte) '\n', from);
+    }
+
+    @Override
+    public int indexOfFirstDigit(ByteView view, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (isDigit(view.byteAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexOfLastDigit(ByteView view, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (isDigit(view.byteAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static boolean isDigit(byte value) {
+        return value >= '0' && value <= '9';
+    }
+}
@@ -0,0 +1,129 @@
+package ru.selestrel.challenge.aoc2023.day1;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton of tokens with values, compiled into a full transition table over bytes. Every state knows
+ * the longest token ending in it, so a line is matched against all tokens in one pass and the cost per byte does not
+ * depend on the number of tokens. The reversed automaton is built from reversed tokens: the first token it matches in
+ * a backward pass is the last token of the line. Callers step the automaton byte by byte, so other searches can share
+ * the same pass.
+ */
+final class TokenAutomaton {
+
+    private static final int ALPHABET = 256;
+
+    private final int[] transitions;
+    private final int[] values;
+    //length of the longest token ending in the state, 0 if there is none
+    private final int[] lengths;
+    private final int maxLength;
+
+    private TokenAutomaton(Map<String, Integer> tokens, boolean reversed) {
+        List<int[]> rows = new ArrayList<>();
+        List<Integer> stateValues = new ArrayList<>();
+        List<Integer> stateLengths = new ArrayList<>();
+        addState(rows, stateValues, stateLengths);
+
+        int longest = 0;
+        for (Map.Entry<String, Integer> token : tokens.entrySet()) {
+            byte[] bytes = token.getKey().getBytes(StandardCharsets.UTF_8);
+            int state = 0;
+            for (int i = 0; i < bytes.length; i++) {
+                int value = bytes[reversed ? bytes.length - 1 - i : i] & 0xFF;
+                if (rows.get(state)[value] == -1) {
+                    rows.get(state)[value] = addState(rows, stateValues, stateLengths);
+                }
+                state = rows.get(state)[value];
+            }
+            stateValues.set(state, token.getValue());
+            stateLengths.set(state, bytes.length);
+            longest = Math.max(longest, bytes.length);
+        }
+
+        //breadth first, so the failure state of a state is complete before the state itself
+        int[] failures = new int[rows.size()];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int value = 0; value < ALPHABET; value++) {
+            int next = rows.get(0)[value];
+            if (next == -1) {
+                rows.get(0)[value] = 0;
+            } else {
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            if (stateLengths.get(state) == 0) {
+                stateValues.set(state, stateValues.get(failures[state]));
+                stateLengths.set(state, stateLengths.get(failures[state]));
+            }
+            for (int value = 0; value < ALPHABET; value++) {
+                int next = rows.get(state)[value];
+                int failureNext = rows.get(failures[state])[value];
+                if (next == -1) {
+                    rows.get(state)[value] = failureNext;
+                } else {
+                    failures[next] = failureNext;
+                    queue.add(next);
+                }
+            }
+        }
+
+        transitions = new int[rows.size() * ALPHABET];
+        for (int state = 0; state < rows.size(); state++) {
+            System.arraycopy(rows.get(state), 0, transitions, state * ALPHABET, ALPHABET);
+        }
+        values = stateValues.stream().mapToInt(Integer::intValue).toArray();
+        lengths = stateLengths.stream().mapToInt(Integer::intValue).toArray();
+        maxLength = longest;
+    }
+
+    static TokenAutomaton forward(Map<String, Integer> tokens) {
+        return new TokenAutomaton(tokens, false);
+    }
+
+    static TokenAutomaton reversed(Map<String, Integer> tokens) {
+        return new TokenAutomaton(tokens, true);
+    }
+
+    /**
+     * @return state after the byte, the start state is 0
+     */
+    int next(int state, byte value) {
+        return transitions[state * ALPHABET + (value & 0xFF)];
+    }
+
+    /**
+     * @return length of the longest token ending in the state, 0 if there is none
+     */
+    int tokenLength(int state) {
+        return lengths[state];
+    }
+
+    /**
+     * @return value of the longest token ending in the state
+     */
+    int tokenValue(int state) {
+        return values[state];
+    }
+
+    int maxLength() {
+        return maxLength;
+    }
+
+    private static int addState(List<int[]> rows, List<Integer> values, List<Integer> lengths) {
+        int[] row = new int[ALPHABET];
+        Arrays.fill(row, -1);
+        rows.add(row);
+        values.add(-1);
+        lengths.add(0);
+        return rows.size() - 1;
+    }
+}
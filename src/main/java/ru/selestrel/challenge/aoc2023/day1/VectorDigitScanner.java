@@ -0,0 +1,73 @@
+package ru.selestrel.challenge.aoc2023.day1;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import ru.selestrel.challenge.aoc2023.input.ByteView;
+
+import java.nio.ByteOrder;
+
+/**
+ * Checks {@link ByteVector#SPECIES_PREFERRED} lanes at once, the remaining bytes at the ends are checked one by one.
+ * A byte is a digit if (byte - '0') is less than 10 as an unsigned number.
+ */
+final class VectorDigitScanner implements DigitScanner {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    @Override
+    public int indexOfNewLine(ByteView view, int from) {
+        int i = from;
+        for (; i + LANES <= view.length(); i += LANES) {
+            int lane = load(view, i).eq((byte) '\n').firstTrue();
+            if (lane < LANES) {
+                return i + lane;
+            }
+        }
+        return view.indexOf((byte) '\n', i);
+    }
+
+    @Override
+    public int indexOfFirstDigit(ByteView view, int from, int to) {
+        int i = from;
+        for (; i + LANES <= to; i += LANES) {
+            int lane = digits(load(view, i)).firstTrue();
+            if (lane < LANES) {
+                return i + lane;
+            }
+        }
+        for (; i < to; i++) {
+            if (ScalarDigitScanner.isDigit(view.byteAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexOfLastDigit(ByteView view, int from, int to) {
+        int i = to;
+        for (; i - LANES >= from; i -= LANES) {
+            int lane = digits(load(view, i - LANES)).lastTrue();
+            if (lane >= 0) {
+                return i - LANES + lane;
+            }
+        }
+        for (i--; i >= from; i--) {
+            if (ScalarDigitScanner.isDigit(view.byteAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static ByteVector load(ByteView view, int index) {
+        return ByteVector.fromByteBuffer(SPECIES, view.buffer(), view.offset() + index, ByteOrder.nativeOrder());
+    }
+
+    private static VectorMask<Byte> digits(ByteVector vector) {
+        return vector.sub((byte) '0').compare(VectorOperators.UNSIGNED_LT, (byte) 10);
+    }
+}
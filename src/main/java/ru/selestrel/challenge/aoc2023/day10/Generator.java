@@ -0,0 +1,175 @@
+package ru.selestrel.challenge.aoc2023.day10;
+
+import ru.selestrel.challenge.aoc2023.InputGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Square pipes map with side size (rounded down to a multiple of 5, at least 5).
+ * The map is split into 5x5 blocks. Every block of a random spanning tree grown from a random root is drawn as a ring
+ * of pipes around its 3x3 center, and rings of neighbour blocks in the tree are merged, so all rings form one loop.
+ * The centers of the loop blocks are enclosed, tiles outside the loop are random junk pipes. The start position
+ * replaces a vertical pipe between two other vertical pipes, since the solver expects them above and below it.
+ */
+public class Generator implements InputGenerator {
+
+    private static final int BLOCK = 5;
+    private static final String JUNK = "|-LJ7F.";
+
+    //block flags
+    private static final byte RIGHT_EDGE = 1;
+    private static final byte DOWN_EDGE = 2;
+    private static final byte IN_LOOP = 4;
+    private static final byte VISITED = 8;
+
+    //tile connections
+    private static final int UP = 1;
+    private static final int DOWN = 2;
+    private static final int LEFT = 4;
+    private static final int RIGHT = 8;
+
+    @Override
+    public int day() {
+        return 10;
+    }
+
+    @Override
+    public int defaultSize() {
+        return 1_000;
+    }
+
+    @Override
+    public void generate(int size, Random random, Writer out) throws IOException {
+        int blocks = Math.max(1, size / BLOCK);
+        byte[] tree = buildTree(blocks, random);
+
+        int startBlock = 0;
+        while ((tree[startBlock] & IN_LOOP) == 0) {
+            startBlock++;
+        }
+
+        char[] row = new char[blocks * BLOCK];
+        for (int y = 0; y < blocks * BLOCK; y++) {
+            int blockRow = y / BLOCK;
+            for (int blockColumn = 0; blockColumn < blocks; blockColumn++) {
+                int block = blockRow * blocks + blockColumn;
+                for (int x = 0; x < BLOCK; x++) {
+                    char tile = JUNK.charAt(random.nextInt(JUNK.length()));
+                    if ((tree[block] & IN_LOOP) != 0) {
+                        int connections = getConnections(tree, blocks, blockRow, blockColumn, y % BLOCK, x);
+                        tile = connections == 0 ? tile : getPipe(connections);
+                    }
+                    row[blockColumn * BLOCK + x] = tile;
+                }
+            }
+            if (y == startBlock / blocks * BLOCK + BLOCK / 2) {
+                row[startBlock % blocks * BLOCK] = 'S';
+            }
+            out.write(row);
+            out.write('\n');
+        }
+    }
+
+    /**
+     * Randomized depth-first search over blocks. Every reached block joins the tree with 0.85 probability.
+     *
+     * @return block flags in row-major order
+     */
+    private static byte[] buildTree(int blocks, Random random) {
+        byte[] tree = new byte[blocks * blocks];
+        int[] stack = new int[blocks * blocks];
+        int[] neighbours = new int[4];
+        int stackSize = 0;
+
+        int root = random.nextInt(tree.length);
+        tree[root] = IN_LOOP | VISITED;
+        stack[stackSize++] = root;
+        while (stackSize > 0) {
+            int block = stack[stackSize - 1];
+            int row = block / blocks;
+            int column = block % blocks;
+            int count = 0;
+            if (row > 0 && (tree[block - blocks] & VISITED) == 0) {
+                neighbours[count++] = block - blocks;
+            }
+            if (row < blocks - 1 && (tree[block + blocks] & VISITED) == 0) {
+                neighbours[count++] = block + blocks;
+            }
+            if (column > 0 && (tree[block - 1] & VISITED) == 0) {
+                neighbours[count++] = block - 1;
+            }
+            if (column < blocks - 1 && (tree[block + 1] & VISITED) == 0) {
+                neighbours[count++] = block + 1;
+            }
+            if (count == 0) {
+                stackSize--;
+                continue;
+            }
+
+            int next = neighbours[random.nextInt(count)];
+            tree[next] |= VISITED;
+            if (random.nextInt(100) < 85) {
+                tree[next] |= IN_LOOP;
+                int first = Math.min(block, next);
+                tree[first] |= Math.abs(next - block) == 1 ? RIGHT_EDGE : DOWN_EDGE;
+                stack[stackSize++] = next;
+            }
+        }
+
+        return tree;
+    }
+
+    /**
+     * Ring of a block goes along the block border. A tree edge to the right/left neighbour replaces the vertical pipe
+     * between the two top tiles of the block side, a tree edge to the top/bottom neighbour replaces the horizontal pipe
+     * between the two left tiles of the block side, and both cut ends are connected to the neighbour ring instead.
+     *
+     * @return connections of the tile (y, x) of the block, 0 for the center tiles
+     */
+    private static int getConnections(byte[] tree, int blocks, int blockRow, int blockColumn, int y, int x) {
+        int block = blockRow * blocks + blockColumn;
+        boolean up = blockRow > 0 && (tree[block - blocks] & DOWN_EDGE) != 0;
+        boolean down = (tree[block] & DOWN_EDGE) != 0;
+        boolean left = blockColumn > 0 && (tree[block - 1] & RIGHT_EDGE) != 0;
+        boolean right = (tree[block] & RIGHT_EDGE) != 0;
+
+        int last = BLOCK - 1;
+        int connections = 0;
+        if (y == 0 || y == last) {
+            connections |= x > 0 ? LEFT : 0;
+            connections |= x < last ? RIGHT : 0;
+        }
+        if (x == 0 || x == last) {
+            connections |= y > 0 ? UP : 0;
+            connections |= y < last ? DOWN : 0;
+        }
+
+        if (left && x == 0 && y < 2) {
+            connections = y == 0 ? connections & ~DOWN | LEFT : connections & ~UP | LEFT;
+        }
+        if (right && x == last && y < 2) {
+            connections = y == 0 ? connections & ~DOWN | RIGHT : connections & ~UP | RIGHT;
+        }
+        if (up && y == 0 && x < 2) {
+            connections = x == 0 ? connections & ~RIGHT | UP : connections & ~LEFT | UP;
+        }
+        if (down && y == last && x < 2) {
+            connections = x == 0 ? connections & ~RIGHT | DOWN : connections & ~LEFT | DOWN;
+        }
+
+        return connections;
+    }
+
+    private static char getPipe(int connections) {
+        return switch (connections) {
+            case UP | DOWN -> '|';
+            case LEFT | RIGHT -> '-';
+            case UP | RIGHT -> 'L';
+            case UP | LEFT -> 'J';
+            case DOWN | LEFT -> '7';
+            default -> 'F';
+        };
+    }
+}
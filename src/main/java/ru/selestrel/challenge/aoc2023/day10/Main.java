@@ -1,7 +1,9 @@
 package ru.selestrel.challenge.aoc2023.day10;
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import ru.selestrel.challenge.aoc2023.Solver;
+import ru.selestrel.challenge.aoc2023.input.ByteView;
+import ru.selestrel.challenge.aoc2023.input.InputFile;
+
 import java.util.*;
 
 import static ru.selestrel.challenge.aoc2023.day10.Direction.*;
@@ -200,42 +202,81 @@ record Point(int coordinateX, int coordinateY, Direction direction, String symbo
     }
 }
 
-public class Main {
+public class Main implements Solver<Main.Loop> {
+
+    record PipesMap(List<List<String>> pipesMap, Point startPosition) {
+    }
+
+    /**
+     * @param loopMap loop points grouped by Y coordinate, every group is sorted by X coordinate
+     */
+    record Loop(int stepCount, Map<Integer, List<Point>> loopMap) {
+    }
 
     public static void main(String[] args) {
+        new Main().solve().print();
+    }
 
-        File input = new File("src/main/java/ru/selestrel/challenge/aoc2023/day10/input.txt");
+    @Override
+    public int day() {
+        return 10;
+    }
+
+    /**
+     * Both puzzles need the loop, so it is walked once here
+     */
+    @Override
+    public Loop parse(InputFile input) {
         Point startPosition = null;
         List<List<String>> pipesMap = new ArrayList<>();
 
         int startYCoordinate = 0;
         String startPositionSymbol = "S";
-        Map<Integer, List<Point>> loopMap = new HashMap<>();
-
-        try {
-            Scanner scanner = new Scanner(input);
 
-            while (scanner.hasNext()) {
-                String nextLine = scanner.nextLine();
-                if (nextLine.contains(startPositionSymbol)) {
-                    startPosition = new Point(nextLine.indexOf(startPositionSymbol), startYCoordinate,
-                            null, startPositionSymbol);
-                }
-                pipesMap.add(List.of(nextLine.split("")));
-                if (startPosition == null) {
-                    startYCoordinate++;
-                }
+        for (ByteView line : input.lines()) {
+            String nextLine = line.toString();
+            if (nextLine.contains(startPositionSymbol)) {
+                startPosition = new Point(nextLine.indexOf(startPositionSymbol), startYCoordinate,
+                        null, startPositionSymbol);
+            }
+            pipesMap.add(List.of(nextLine.split("")));
+            if (startPosition == null) {
+                startYCoordinate++;
             }
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
         }
 
+        return walkLoop(new PipesMap(pipesMap, startPosition));
+    }
+
+    @Override
+    public Object part1(Loop loop) {
+        return loop.stepCount();
+    }
+
+    @Override
+    public Object part2(Loop loop) {
+        List<List<Point>> borders = loop.loopMap().values().stream().map(Main::getBorderPoints).toList();
+
+        List<Integer> tiles = borders.stream().map(Main::calculateEnclosedTilesCount).toList();
+        return tiles.stream().reduce(0, Integer::sum);
+    }
+
+    /**
+     * Walk the loop in both directions from the start position until the walkers meet
+     *
+     * @return steps count to the farthest point and loop points grouped by Y coordinate and sorted by X coordinate
+     */
+    private static Loop walkLoop(PipesMap map) {
+        Point startPosition = map.startPosition();
+        List<List<String>> pipesMap = map.pipesMap();
+        int startYCoordinate = startPosition.coordinateY();
+        Map<Integer, List<Point>> loopMap = new HashMap<>();
+
         List<Point> positions = List.of(new Point(startPosition.coordinateX(), startYCoordinate - 1, UP, "|"),
                 new Point(startPosition.coordinateX(), startYCoordinate + 1, DOWN, "|"));
         loopMap.put(startYCoordinate, new ArrayList<>(List.of(new Point(startPosition.coordinateX(),
-                startPosition.coordinateY(), UP, startPositionSymbol))));
+                startPosition.coordinateY(), UP, startPosition.symbol()))));
 
-        //Puzzle 1
         int stepCount = 1;
 
         do {
@@ -253,16 +294,10 @@ public class Main {
             stepCount++;
         } while (!positions.get(0).equals(positions.get(1)));
 
-        System.out.println("First puzzle result: " + stepCount);
-
-        //Puzzle 2
         loopMap.get(positions.get(0).coordinateY()).add(positions.get(0));
-        loopMap.values().forEach(v -> v.sort(Comparator.comparing(Point::coordinateX)));
-
-        List<List<Point>> borders = loopMap.values().stream().map(Main::getBorderPoints).toList();
+        loopMap.values().forEach(points -> points.sort(Comparator.comparing(Point::coordinateX)));
 
-        List<Integer> tiles = borders.stream().map(Main::calculateEnclosedTilesCount).toList();
-        System.out.println("Second puzzle result:" + tiles.stream().reduce(0, Integer::sum));
+        return new Loop(stepCount, loopMap);
     }
 
     private static int calculateEnclosedTilesCount(List<Point> points) {
@@ -0,0 +1,42 @@
+package ru.selestrel.challenge.aoc2023.day11;
+
+import ru.selestrel.challenge.aoc2023.InputGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Square galaxy image with side size. About 1% of the tiles are galaxies, about 5% of the rows and 5% of the columns
+ * are left empty, so they are expanded.
+ */
+public class Generator implements InputGenerator {
+
+    @Override
+    public int day() {
+        return 11;
+    }
+
+    @Override
+    public int defaultSize() {
+        return 500;
+    }
+
+    @Override
+    public void generate(int size, Random random, Writer out) throws IOException {
+        boolean[] emptyColumns = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            emptyColumns[i] = random.nextInt(20) == 0;
+        }
+
+        char[] row = new char[size];
+        for (int y = 0; y < size; y++) {
+            boolean emptyRow = random.nextInt(20) == 0;
+            for (int x = 0; x < size; x++) {
+                row[x] = !emptyRow && !emptyColumns[x] && random.nextInt(100) == 0 ? '#' : '.';
+            }
+            out.write(row);
+            out.write('\n');
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package ru.selestrel.challenge.aoc2023.day11;
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import ru.selestrel.challenge.aoc2023.Solver;
+import ru.selestrel.challenge.aoc2023.input.ByteView;
+import ru.selestrel.challenge.aoc2023.input.InputFile;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Scanner;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
@@ -113,22 +114,26 @@ import java.util.stream.LongStream;
  * shortest path between every pair of galaxies. What is the sum of these lengths?
  */
 
-public class Main {
+public class Main implements Solver<Main.Image> {
+
+    record Image(List<List<String>> image, List<Integer> emptyRowsIndices, List<Integer> emptyColumnIndices) {
+    }
 
     public static void main(String[] args) {
+        new Main().solve().print();
+    }
 
-        File input = new File("src/main/java/ru/selestrel/challenge/aoc2023/day11/input.txt");
+    @Override
+    public int day() {
+        return 11;
+    }
 
+    @Override
+    public Image parse(InputFile input) {
         List<List<String>> image = new ArrayList<>();
 
-        try {
-            Scanner scanner = new Scanner(input);
-
-            while (scanner.hasNext()) {
-                image.add(new ArrayList<>(Arrays.stream(scanner.nextLine().split("")).toList()));
-            }
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
+        for (ByteView line : input.lines()) {
+            image.add(new ArrayList<>(Arrays.stream(line.toString().split("")).toList()));
         }
         List<Integer> emptyRowsIndices = IntStream.range(0, image.size())
                 .filter(i -> !image.get(i).stream().reduce("", String::concat).contains("#")).boxed().toList();
@@ -142,19 +147,26 @@ public class Main {
             }
         }
 
-        //Puzzle 1
-        List<List<Integer>> galaxiesCoordinates = getGalaxiesCoordinates(image).stream()
-                .map(c -> getExpandedGalaxyCoordinates(c, emptyRowsIndices, emptyColumnIndices, 1)).toList();
+        return new Image(image, emptyRowsIndices, emptyColumnIndices);
+    }
 
-        System.out.println("First puzzle result: " + LongStream.range(0, galaxiesCoordinates.size())
-                .map(i -> calculatePathSum(galaxiesCoordinates, (int) i)).reduce(0, Long::sum)); //9723824
+    @Override
+    public Object part1(Image image) {
+        return getPathSum(image, 1); //9723824
+    }
+
+    @Override
+    public Object part2(Image image) {
+        return getPathSum(image, 999999);
+    }
 
-        //Puzzle 2
-        List<List<Integer>> galaxiesCoordinates2 = getGalaxiesCoordinates(image).stream()
-                .map(c -> getExpandedGalaxyCoordinates(c, emptyRowsIndices, emptyColumnIndices, 999999)).toList();
+    private static long getPathSum(Image image, int factor) {
+        List<List<Integer>> galaxiesCoordinates = getGalaxiesCoordinates(image.image()).stream()
+                .map(c -> getExpandedGalaxyCoordinates(c, image.emptyRowsIndices(), image.emptyColumnIndices(),
+                        factor)).toList();
 
-        System.out.println("Second puzzle result: " + LongStream.range(0, galaxiesCoordinates2.size())
-                .map(i -> calculatePathSum(galaxiesCoordinates2, (int) i)).reduce(0, Long::sum)); //9723824
+        return LongStream.range(0, galaxiesCoordinates.size())
+                .map(i -> calculatePathSum(galaxiesCoordinates, (int) i)).reduce(0, Long::sum);
     }
 
     private static List<Integer> getExpandedGalaxyCoordinates(List<Integer> galaxyCoordinates,
@@ -0,0 +1,55 @@
+package ru.selestrel.challenge.aoc2023.day12;
+
+import ru.selestrel.challenge.aoc2023.InputGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 1000 condition records with springs rows of size length (at least 2). Each row is a random arrangement of damaged
+ * groups of 1-5 springs, its group sizes are listed as is and about 40% of the springs are replaced with '?', so
+ * every record has at least one arrangement.
+ */
+public class Generator implements InputGenerator {
+
+    private static final int RECORDS = 1_000;
+
+    @Override
+    public int day() {
+        return 12;
+    }
+
+    @Override
+    public int defaultSize() {
+        return 20;
+    }
+
+    @Override
+    public void generate(int size, Random random, Writer out) throws IOException {
+        int length = Math.max(2, size);
+        char[] springs = new char[length];
+        StringBuilder groups = new StringBuilder();
+        for (int i = 0; i < RECORDS; i++) {
+            groups.setLength(0);
+            int position = random.nextInt(length / 2 + 1);
+            Arrays.fill(springs, '.');
+            while (position < length) {
+                int group = Math.min(1 + random.nextInt(5), length - position);
+                for (int j = 0; j < group; j++) {
+                    springs[position++] = '#';
+                }
+                groups.append(groups.isEmpty() ? "" : ",").append(group);
+                position += 1 + random.nextInt(4);
+            }
+            for (int j = 0; j < length; j++) {
+                if (random.nextInt(10) < 4) {
+                    springs[j] = '?';
+                }
+            }
+            out.write(springs);
+            out.append(' ').append(groups).append('\n');
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package ru.selestrel.challenge.aoc2023.day12;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import ru.selestrel.challenge.aoc2023.Solver;
+import ru.selestrel.challenge.aoc2023.StreamingSolver;
+import ru.selestrel.challenge.aoc2023.input.ByteCursor;
+import ru.selestrel.challenge.aoc2023.input.ByteView;
+import ru.selestrel.challenge.aoc2023.input.InputFile;
+
 import java.util.*;
 
 /**
@@ -108,53 +110,96 @@ import java.util.*;
  * Unfold your condition records; what is the new sum of possible arrangement counts?
  */
 
-public class Main {
+public class Main implements Solver<List<Main.SpringRecord>>, StreamingSolver {
+
+    record SpringRecord(String springs, int[] groups) {
+    }
 
     public static void main(String[] args) {
+        new Main().solve().print();
+    }
 
-        List<String> records = new ArrayList<>();
-        try (BufferedReader reader = Files.newBufferedReader(
-                Paths.get("src/main/java/ru/selestrel/challenge/aoc2023/day12/input.txt"))) {
+    @Override
+    public int day() {
+        return 12;
+    }
 
-            String line;
-            while ((line = reader.readLine()) != null) {
-                records.add(line);
-            }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+    @Override
+    public List<SpringRecord> parse(InputFile input) {
+        List<SpringRecord> records = new ArrayList<>();
+        for (ByteView line : input.lines()) {
+            records.add(parseRecord(line));
         }
 
-        List<String> springs = records.stream().map(record -> record.split(" ")[0]).toList();
-        List<List<Integer>> groups = records.stream()
-                .map(record -> record.split(" ")[1])
-                .map(amounts -> Arrays.stream(amounts.split(",")).map(Integer::parseInt).toList())
-                .toList();
+        return records;
+    }
+
+    private static SpringRecord parseRecord(ByteView line) {
+        int springsEnd = line.indexOf((byte) ' ');
+        int[] groups = new ByteCursor(line.slice(springsEnd, line.length())).nextInts((byte) ',');
+        return new SpringRecord(line.slice(0, springsEnd).toString(), groups);
+    }
 
-        //Puzzle 1
+    @Override
+    public Object part1(List<SpringRecord> records) {
         long result = 0L;
-        for (int i = 0; i < springs.size(); i++) {
-            result += countArrangements(new HashMap<>(), springs.get(i), groups.get(i), 0, 0, 0);
+        for (SpringRecord record : records) {
+            result += countArrangements(record);
         }
 
-        System.out.println("First puzzle result: " + result);
+        return result;
+    }
 
-        //Puzzle 2
-        result = 0L;
-        for (int i = 0; i < springs.size(); i++) {
-            String newSpringsMap = getRepeatedString(springs.get(i), 5, "?");
-            result += countArrangements(new HashMap<>(), newSpringsMap, getRepeatedList(groups.get(i), 5),
-                    0, 0, 0);
+    @Override
+    public Object part2(List<SpringRecord> records) {
+        long result = 0L;
+        for (SpringRecord record : records) {
+            result += countUnfoldedArrangements(record);
         }
 
-        System.out.println("Second puzzle result: " + result);
+        return result;
+    }
+
+    @Override
+    public Fold newFold() {
+        return new Fold() {
+            private long result = 0L;
+            private long unfoldedResult = 0L;
+
+            @Override
+            public void accept(ByteView line) {
+                SpringRecord record = parseRecord(line);
+                result += countArrangements(record);
+                unfoldedResult += countUnfoldedArrangements(record);
+            }
+
+            @Override
+            public Object part1() {
+                return result;
+            }
+
+            @Override
+            public Object part2() {
+                return unfoldedResult;
+            }
+        };
+    }
+
+    private static long countArrangements(SpringRecord record) {
+        return countArrangements(new HashMap<>(), record.springs(), record.groups(), 0, 0, 0);
+    }
+
+    private static long countUnfoldedArrangements(SpringRecord record) {
+        String newSpringsMap = getRepeatedString(record.springs(), 5, "?");
+        return countArrangements(new HashMap<>(), newSpringsMap, getRepeatedArray(record.groups(), 5), 0, 0, 0);
     }
 
-    private static List<Integer> getRepeatedList(List<Integer> list, int times) {
-        List<Integer> newList = new ArrayList<>();
+    private static int[] getRepeatedArray(int[] array, int times) {
+        int[] newArray = new int[array.length * times];
         for (int i = 0; i < times; i++) {
-            newList.addAll(list);
+            System.arraycopy(array, 0, newArray, i * array.length, array.length);
         }
-        return newList;
+        return newArray;
     }
 
     private static String getRepeatedString(String str, int times, String delimiter) {
@@ -169,19 +214,19 @@ public class Main {
     record Coords(int i, int j, int cur) {
     }
 
-    private static long countArrangements(HashMap<Coords, Long> blockMap, String map, List<Integer> amounts, int i, int j, int cur) {
+    private static long countArrangements(HashMap<Coords, Long> blockMap, String map, int[] amounts, int i, int j, int cur) {
         var key = new Coords(i, j, cur);
         if (blockMap.containsKey(key)) {
             return blockMap.get(key);
         }
         if (i == map.length()) {
-            return (j == amounts.size() && cur == 0) || (j == amounts.size() - 1 && amounts.get(j) == cur) ? 1 : 0;
+            return (j == amounts.length && cur == 0) || (j == amounts.length - 1 && amounts[j] == cur) ? 1 : 0;
         }
         long total = 0;
         char c = map.charAt(i);
         if ((c == '.' || c == '?') && cur == 0) {
             total += countArrangements(blockMap, map, amounts, i + 1, j, 0);
-        } else if ((c == '.' || c == '?') && cur > 0 && j < amounts.size() && amounts.get(j) == cur) {
+        } else if ((c == '.' || c == '?') && cur > 0 && j < amounts.length && amounts[j] == cur) {
             total += countArrangements(blockMap, map, amounts, i + 1, j + 1, 0);
         }
         if (c == '#' || c == '?') {
@@ -0,0 +1,48 @@
+package ru.selestrel.challenge.aoc2023.day2;
+
+import ru.selestrel.challenge.aoc2023.input.InputFile;
+
+import java.util.List;
+
+/**
+ * Sum of ids of the games that are possible with a bag, asked for many bags on the same game log. A bag is an array
+ * of cube counts of the {@link #COLORS} in the same order, other colors shown in games do not make them impossible.
+ */
+public interface BagQuery {
+
+    List<String> COLORS = Main.BAG_COLORS;
+
+    long sumOfPossibleIds(int[] bag);
+
+    /**
+     * @return answers in the order of bags
+     */
+    default long[] sumOfPossibleIds(int[][] bags) {
+        long[] sums = new long[bags.length];
+        for (int i = 0; i < bags.length; i++) {
+            sums[i] = sumOfPossibleIds(bags[i]);
+        }
+        return sums;
+    }
+
+    /**
+     * @return query that checks every game for every bag
+     */
+    static BagQuery scan(InputFile input) {
+        List<Main.Game> games = Main.parseGames(input);
+        return bag -> {
+            long sum = 0;
+            for (Main.Game game : games) {
+                sum += Main.isGamePossible(bag, game.fewestCubes()) ? game.id() : 0;
+            }
+            return sum;
+        };
+    }
+
+    /**
+     * @return query answered by a {@link GameIndex} in sublinear time
+     */
+    static BagQuery index(InputFile input) {
+        return new GameIndex(Main.parseGames(input), COLORS.size());
+    }
+}
@@ -0,0 +1,156 @@
+package ru.selestrel.challenge.aoc2023.day2;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * k-d tree of the fewest cubes of games over the bag colors. Games with the same cubes are merged into one point
+ * weighted by the sum of their ids, so the tree size depends on the number of different cube counts and not on the
+ * number of games. Every node knows the bounding box and the weight of its points: a node inside the bag is added as a
+ * whole, a node with a color over the bag is skipped, only nodes crossing the bag border are visited.
+ */
+final class GameIndex implements BagQuery {
+
+    private static final int LEAF_SIZE = 8;
+
+    private final int dimensions;
+    //point coordinates, dimensions values per point in the tree order
+    private final int[] coordinates;
+    private final long[] weights;
+
+    //nodes: [from, to) range of points, children (-1 for leaves), box and weight
+    private final int[] from;
+    private final int[] to;
+    private final int[] left;
+    private final int[] right;
+    private final int[] min;
+    private final int[] max;
+    private final long[] nodeWeights;
+    private int nodeCount = 0;
+
+    GameIndex(List<Main.Game> games, int dimensions) {
+        this.dimensions = dimensions;
+
+        //sort games by cubes and merge equal ones
+        int[][] points = new int[games.size()][];
+        long[] ids = new long[games.size()];
+        Integer[] order = new Integer[games.size()];
+        for (int i = 0; i < games.size(); i++) {
+            Main.Game game = games.get(i);
+            points[i] = new int[dimensions];
+            for (int dimension = 0; dimension < dimensions; dimension++) {
+                points[i][dimension] = game.getFewestCubes(dimension);
+            }
+            ids[i] = game.id();
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Arrays.compare(points[a], points[b]));
+        int[] merged = new int[games.size() * dimensions];
+        long[] mergedWeights = new long[games.size()];
+        int count = 0;
+        for (int i = 0; i < order.length; i++) {
+            int[] point = points[order[i]];
+            if (count == 0 || !Arrays.equals(point, 0, dimensions, merged, (count - 1) * dimensions,
+                    count * dimensions)) {
+                System.arraycopy(point, 0, merged, count * dimensions, dimensions);
+                count++;
+            }
+            mergedWeights[count - 1] += ids[order[i]];
+        }
+        coordinates = Arrays.copyOf(merged, count * dimensions);
+        weights = Arrays.copyOf(mergedWeights, count);
+
+        int maxNodes = Math.max(1, 2 * count);
+        from = new int[maxNodes];
+        to = new int[maxNodes];
+        left = new int[maxNodes];
+        right = new int[maxNodes];
+        min = new int[maxNodes * dimensions];
+        max = new int[maxNodes * dimensions];
+        nodeWeights = new long[maxNodes];
+        build(0, count, 0, new long[count]);
+    }
+
+    @Override
+    public long sumOfPossibleIds(int[] bag) {
+        return query(0, bag);
+    }
+
+    /**
+     * @return node index
+     */
+    private int build(int start, int end, int depth, long[] keys) {
+        int node = nodeCount++;
+        from[node] = start;
+        to[node] = end;
+        Arrays.fill(min, node * dimensions, (node + 1) * dimensions, Integer.MAX_VALUE);
+        Arrays.fill(max, node * dimensions, (node + 1) * dimensions, Integer.MIN_VALUE);
+        for (int point = start; point < end; point++) {
+            nodeWeights[node] += weights[point];
+            for (int dimension = 0; dimension < dimensions; dimension++) {
+                int value = coordinates[point * dimensions + dimension];
+                min[node * dimensions + dimension] = Math.min(min[node * dimensions + dimension], value);
+                max[node * dimensions + dimension] = Math.max(max[node * dimensions + dimension], value);
+            }
+        }
+
+        if (end - start <= LEAF_SIZE) {
+            left[node] = -1;
+            right[node] = -1;
+        } else {
+            sortPoints(start, end, depth % dimensions, keys);
+            int middle = (start + end) >>> 1;
+            left[node] = build(start, middle, depth + 1, keys);
+            right[node] = build(middle, end, depth + 1, keys);
+        }
+        return node;
+    }
+
+    /**
+     * Sort points of [start, end) by one dimension. Keys are the value in the high half and the point index in the low
+     * half, so primitives are sorted.
+     */
+    private void sortPoints(int start, int end, int dimension, long[] keys) {
+        for (int point = start; point < end; point++) {
+            keys[point] = (long) coordinates[point * dimensions + dimension] << 32 | point;
+        }
+        Arrays.sort(keys, start, end);
+
+        int[] sortedCoordinates = new int[(end - start) * dimensions];
+        long[] sortedWeights = new long[end - start];
+        for (int i = start; i < end; i++) {
+            int point = (int) keys[i];
+            System.arraycopy(coordinates, point * dimensions, sortedCoordinates, (i - start) * dimensions,
+                    dimensions);
+            sortedWeights[i - start] = weights[point];
+        }
+        System.arraycopy(sortedCoordinates, 0, coordinates, start * dimensions, sortedCoordinates.length);
+        System.arraycopy(sortedWeights, 0, weights, start, sortedWeights.length);
+    }
+
+    private long query(int node, int[] bag) {
+        boolean inside = true;
+        for (int dimension = 0; dimension < dimensions; dimension++) {
+            if (min[node * dimensions + dimension] > bag[dimension]) {
+                return 0;
+            }
+            inside &= max[node * dimensions + dimension] <= bag[dimension];
+        }
+        if (inside) {
+            return nodeWeights[node];
+        }
+
+        if (left[node] != -1) {
+            return query(left[node], bag) + query(right[node], bag);
+        }
+        long sum = 0;
+        for (int point = from[node]; point < to[node]; point++) {
+            boolean possible = true;
+            for (int dimension = 0; dimension < dimensions && possible; dimension++) {
+                possible = coordinates[point * dimensions + dimension] <= bag[dimension];
+            }
+            sum += possible ? weights[point] : 0;
+        }
+        return sum;
+    }
+}
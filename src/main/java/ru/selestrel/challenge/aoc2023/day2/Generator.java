@@ -0,0 +1,49 @@
+package ru.selestrel.challenge.aoc2023.day2;
+
+import ru.selestrel.challenge.aoc2023.InputGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Game log of size games with 1-6 rounds each. Every round shows 1-20 cubes of some of the red, green and blue colors.
+ */
+public class Generator implements InputGenerator {
+
+    private static final String[] COLORS = {"red", "green", "blue"};
+
+    @Override
+    public int day() {
+        return 2;
+    }
+
+    @Override
+    public int defaultSize() {
+        return 100_000;
+    }
+
+    @Override
+    public void generate(int size, Random random, Writer out) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int game = 1; game <= size; game++) {
+            line.setLength(0);
+            line.append("Game ").append(game).append(": ");
+            int rounds = 1 + random.nextInt(6);
+            for (int round = 0; round < rounds; round++) {
+                if (round > 0) {
+                    line.append("; ");
+                }
+                int start = random.nextInt(COLORS.length);
+                int colors = 1 + random.nextInt(COLORS.length);
+                for (int color = 0; color < colors; color++) {
+                    if (color > 0) {
+                        line.append(", ");
+                    }
+                    line.append(1 + random.nextInt(20)).append(' ').append(COLORS[(start + color) % COLORS.length]);
+                }
+            }
+            out.append(line).append('\n');
+        }
+    }
+}
@@ -1,64 +1,241 @@
 package ru.selestrel.challenge.aoc2023.day2;
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import ru.selestrel.challenge.aoc2023.Solver;
+import ru.selestrel.challenge.aoc2023.StreamingSolver;
+import ru.selestrel.challenge.aoc2023.input.ByteCursor;
+import ru.selestrel.challenge.aoc2023.input.ByteView;
+import ru.selestrel.challenge.aoc2023.input.InputFile;
+import ru.selestrel.challenge.aoc2023.input.LineChunks;
+
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Scanner;
+import java.util.List;
 
-public class Main {
+/**
+ * Both sums are computed in the parse phase: lines are independent, so the file is split into chunks of whole lines
+ * and every chunk is summed into its own {@link Sums} on a common fork-join pool worker, then the sums are merged.
+ * Lines are read in place and their cubes go to a reused array, so a line does not allocate.
+ */
+public class Main implements Solver<Main.Sums>, StreamingSolver {
 
-    public static void main(String[] args) {
+    static final List<String> BAG_COLORS = List.of("red", "green", "blue");
+    /**
+     * Cubes of every bag color, colors have the ids of their {@link #BAG_COLORS} positions
+     */
+    private static final int[] BAG = {12, 13, 14};
 
-        Map<String, Integer> bag = Map.of("red", 12, "green", 13, "blue", 14);
+    /**
+     * @param fewestCubes the largest count of every color id shown in the game, -1 if the color is not shown. Colors
+     *                    found after the game have larger ids and are not in the array
+     */
+    record Game(int id, int[] fewestCubes) {
 
-        int result = 0;
-        int sumOfPower = 0;
+        int getFewestCubes(int color) {
+            return color < fewestCubes.length ? fewestCubes[color] : -1;
+        }
+    }
 
-        File input = new File("src/main/java/ru/selestrel/challenge/aoc2023/day2/input.txt");
-        try {
-            Scanner reader = new Scanner(input);
+    /**
+     * Color names of one input interned to ids in order of appearance. Bag colors are added first, so their ids are
+     * the same for every input and known names do not create strings.
+     */
+    static final class Colors {
 
-            while (reader.hasNextLine()) {
-                String data = reader.nextLine();
-                String gameCases = data.split(":")[1];
-                Map<String, Integer> fewestCubesMap = composeFewestCubesMap(gameCases);
+        private final List<String> names = new ArrayList<>(BAG_COLORS);
 
-                //first puzzle
-                int gameId = Integer.parseInt(data.split(":")[0].split(" ")[1]);
-                boolean isPossible = isGamePossible(bag, fewestCubesMap);
-                result += isPossible ? gameId : 0;
+        /**
+         * @return id of the name at [from, to) of the view
+         */
+        int getId(ByteView view, int from, int to) {
+            for (int i = 0; i < names.size(); i++) {
+                if (view.contentEquals(from, to, names.get(i))) {
+                    return i;
+                }
+            }
+            names.add(view.slice(from, to).toString());
+            return names.size() - 1;
+        }
 
-                //second puzzle
-                sumOfPower += composeFewestCubesMap(gameCases).values().stream()
-                        .reduce(1, (a, b) -> a * b);
+        int size() {
+            return names.size();
+        }
+    }
+
+    /**
+     * Sums of both puzzles over a part of the input. Every accumulator has its own colors, cursor and cubes array, so
+     * it is used by one thread, and accumulators of different parts are merged into one.
+     */
+    static final class Sums {
+
+        private final Colors colors = new Colors();
+        private final ByteCursor cursor = new ByteCursor();
+        private int[] fewestCubes = new int[BAG_COLORS.size()];
+        private long possibleIds;
+        private long power;
+
+        /**
+         * Add every line of the view
+         */
+        Sums addLines(ByteView view) {
+            int start = 0;
+            while (start < view.length()) {
+                int end = view.indexOf((byte) '\n', start);
+                end = end == -1 ? view.length() : end;
+                add(view, start, end);
+                start = end + 1;
             }
+            return this;
+        }
+
+        /**
+         * Add the game at [from, to) of the view
+         */
+        void add(ByteView view, int from, int to) {
+            cursor.reset(view, from, to);
+            int gameId = cursor.skip("Game").nextInt();
+            Arrays.fill(fewestCubes, -1);
+            fewestCubes = readFewestCubes(cursor.skip((byte) ':'), colors, fewestCubes);
+            possibleIds += isGamePossible(BAG, fewestCubes) ? gameId : 0;
+            power += getPower(fewestCubes);
+        }
+
+        /**
+         * Color ids of the other accumulator differ, but only the sums are left after the parts are added
+         */
+        Sums merge(Sums other) {
+            possibleIds += other.possibleIds;
+            power += other.power;
+            return this;
+        }
+
+        long possibleIds() {
+            return possibleIds;
+        }
+
+        long power() {
+            return power;
+        }
+    }
+
+    public static void main(String[] args) {
+        new Main().solve().print();
+    }
+
+    @Override
+    public int day() {
+        return 2;
+    }
 
-            reader.close();
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
+    @Override
+    public boolean isSinglePass() {
+        return true;
+    }
+
+    @Override
+    public Sums parse(InputFile input) {
+        return LineChunks.split(input.content(), LineChunks.DEFAULT_CHUNK_SIZE).parallelStream()
+                .map(chunk -> new Sums().addLines(chunk))
+                .reduce(Sums::merge)
+                .orElseGet(Sums::new);
+    }
+
+    @Override
+    public Object part1(Sums sums) {
+        return sums.possibleIds();
+    }
+
+    @Override
+    public Object part2(Sums sums) {
+        return sums.power();
+    }
+
+    /**
+     * @return every game of the input, for queries that need more than the sums
+     */
+    static List<Game> parseGames(InputFile input) {
+        List<Game> games = new ArrayList<>();
+        Colors colors = new Colors();
+        ByteCursor cursor = new ByteCursor();
+        for (ByteView line : input.lines()) {
+            games.add(parseGame(cursor.reset(line), colors));
+        }
+
+        return games;
+    }
+
+    private static Game parseGame(ByteCursor cursor, Colors colors) {
+        int gameId = cursor.skip("Game").nextInt();
+        int[] fewestCubes = new int[colors.size()];
+        Arrays.fill(fewestCubes, -1);
+        return new Game(gameId, readFewestCubes(cursor.skip((byte) ':'), colors, fewestCubes));
+    }
+
+    /**
+     * Read cube counts of one game up to the cursor end
+     *
+     * @param fewestCubes filled with -1, the largest count of every color is put to it
+     * @return fewestCubes, or its copy extended with -1 if a new color is found
+     */
+    private static int[] readFewestCubes(ByteCursor cursor, Colors colors, int[] fewestCubes) {
+        while (cursor.hasNextNumber()) {
+            int count = cursor.nextInt();
+            int length = cursor.skipWord();
+            int color = colors.getId(cursor.view(), cursor.position() - length, cursor.position());
+            if (color >= fewestCubes.length) {
+                int oldLength = fewestCubes.length;
+                fewestCubes = Arrays.copyOf(fewestCubes, colors.size());
+                Arrays.fill(fewestCubes, oldLength, fewestCubes.length, -1);
+            }
+            fewestCubes[color] = Math.max(fewestCubes[color], count);
+            if (!cursor.skipIf((byte) ',')) {
+                cursor.skipIf((byte) ';');
+            }
         }
+        return fewestCubes;
+    }
+
+    @Override
+    public Fold newFold() {
+        return new Fold() {
+            private final Sums sums = new Sums();
+
+            @Override
+            public void accept(ByteView line) {
+                sums.add(line, 0, line.length());
+            }
 
-        System.out.println("First puzzle result: " + result);
-        System.out.println("Second puzzle result: " + sumOfPower);
+            @Override
+            public Object part1() {
+                return sums.possibleIds();
+            }
+
+            @Override
+            public Object part2() {
+                return sums.power();
+            }
+        };
     }
 
-    private static Map<String, Integer> composeFewestCubesMap(String gameDescription) {
-        Map<String, Integer> map = new HashMap<>();
-        Arrays.stream(gameDescription.split(";"))
-                .flatMap(c -> Arrays.stream(c.split(","))).map(String::trim)
-                .map(c -> c.split(" "))
-                .forEach(cube -> {
-                    String key = cube[1];
-                    Integer value = Integer.valueOf(cube[0]);
-                    map.put(cube[1], (map.get(key) == null || map.get(key) < value)
-                            ? value : map.get(key));
-                });
-        return map;
+    /**
+     * @return product of the fewest cubes of the colors shown in the game
+     */
+    private static long getPower(int[] fewestCubes) {
+        long power = 1;
+        for (int count : fewestCubes) {
+            power *= count == -1 ? 1 : count;
+        }
+        return power;
     }
 
-    private static boolean isGamePossible(Map<String, Integer> bag, Map<String, Integer> game) {
-        return bag.keySet().stream().allMatch(key -> bag.get(key) >= (game.get(key) == null ? 0 : game.get(key)));
+    /**
+     * Only bag colors are checked, other colors shown in the game do not make it impossible
+     */
+    static boolean isGamePossible(int[] bag, int[] fewestCubes) {
+        for (int color = 0; color < bag.length; color++) {
+            if (color < fewestCubes.length && fewestCubes[color] > bag[color]) {
+                return false;
+            }
+        }
+        return true;
     }
 }
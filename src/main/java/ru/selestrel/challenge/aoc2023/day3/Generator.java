@@ -0,0 +1,54 @@
+package ru.selestrel.challenge.aoc2023.day3;
+
+import ru.selestrel.challenge.aoc2023.InputGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Engine schematic of size rows, 140 columns wide. Numbers have 1-3 digits and are never glued together, symbols are
+ * scattered between them.
+ */
+public class Generator implements InputGenerator {
+
+    private static final int WIDTH = 140;
+    private static final String SYMBOLS = "*#+$/@%=&-";
+
+    @Override
+    public int day() {
+        return 3;
+    }
+
+    @Override
+    public int defaultSize() {
+        return 10_000;
+    }
+
+    @Override
+    public void generate(int size, Random random, Writer out) throws IOException {
+        char[] row = new char[WIDTH];
+        for (int i = 0; i < size; i++) {
+            int column = 0;
+            while (column < WIDTH) {
+                int kind = random.nextInt(20);
+                if (kind < 3) {
+                    int digits = Math.min(1 + random.nextInt(3), WIDTH - column);
+                    row[column++] = (char) ('1' + random.nextInt(9));
+                    for (int digit = 1; digit < digits; digit++) {
+                        row[column++] = (char) ('0' + random.nextInt(10));
+                    }
+                    if (column < WIDTH) {
+                        row[column++] = '.';
+                    }
+                } else if (kind < 5) {
+                    row[column++] = SYMBOLS.charAt(random.nextInt(SYMBOLS.length()));
+                } else {
+                    row[column++] = '.';
+                }
+            }
+            out.write(row);
+            out.write('\n');
+        }
+    }
+}
@@ -1,12 +1,8 @@
 package ru.selestrel.challenge.aoc2023.day3;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
-import java.util.Scanner;
-import java.util.stream.Collectors;
+import ru.selestrel.challenge.aoc2023.Solver;
+import ru.selestrel.challenge.aoc2023.StreamingSolver;
+import ru.selestrel.challenge.aoc2023.input.InputFile;
 
 /**
  * Puzzle 1
@@ -72,187 +68,43 @@ import java.util.stream.Collectors;
  * What is the sum of all the gear ratios in your engine schematic?
  */
 
-public class Main {
-
-    private static final String NOT_SYMBOLS = ".0123456789";
-    private static final String DIGITS = "0123456789";
+public class Main implements Solver<Schematic.Parts>, StreamingSolver {
 
     public static void main(String[] args) {
-
-        File input = new File("src/main/java/ru/selestrel/challenge/aoc2023/day3/input.txt");
-        Scanner reader;
-
-        int sumOfParts = 0;
-        int sumOfGearRatio = 0;
-        try {
-            reader = new Scanner(input);
-            String previous = null;
-            String current = reader.nextLine();
-            String next = reader.hasNext() ? reader.nextLine() : null;
-            do {
-                sumOfParts += getSumOfParts(previous, current, next);
-                sumOfGearRatio += getSumOfGearRatios(previous, current, next);
-                previous = current;
-                current = next;
-                next = reader.hasNext() ? reader.nextLine() : null;
-            } while (current != null);
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
-        }
-
-        System.out.println(sumOfParts);
-        System.out.println(sumOfGearRatio);
-
-        reader.close();
+        new Main().solve().print();
     }
 
-    /**
-     * Calculate sum of part numbers in current line. Previous and next lines are needed to find part numbers that
-     * connected to top/bottom symbols
-     *
-     * @param previous previous line of input
-     * @param current current line of input
-     * @param next next lint of input
-     * @return sum of part numbers
-     */
-    private static int getSumOfParts(String previous, String current, String next) {
-        int sumOfLineParts = 0;
-        int stringLength = current.length();
-        int numberStart = -1;
-        int numberEnd = -1;
-        boolean isConnected = false;
-
-        for (int i = 0; i < stringLength; i++) {
-            char ch = current.charAt(i);
-
-            if (Character.isDigit(ch)) {
-                //check is any digit of the number connected to symbol
-                isConnected = isConnected || verifySymbolsAround(current, i, false)
-                        || (previous != null && verifySymbolsAround(previous, i, true))
-                        || (next != null && verifySymbolsAround(next, i, true));
-                //remember the number start
-                numberStart = numberStart == -1 ? i : numberStart;
-                //remember and update number end
-                numberEnd = i;
-                //add numbers at the end of the line
-                if (i == stringLength - 1) {
-                    sumOfLineParts += isConnected ? Integer.parseInt(current.substring(numberStart, numberEnd + 1)) : 0;
-                }
-            } else  {
-                //add numbers to overall sum
-                sumOfLineParts += isConnected ? Integer.parseInt(current.substring(numberStart, numberEnd + 1)) : 0;
-                //restore default parameter values
-                isConnected = false;
-                numberStart = -1;
-                numberEnd = -1;
-            }
-        }
-
-        return sumOfLineParts;
+    @Override
+    public int day() {
+        return 3;
     }
 
-    /**
-     * Calculate sum of gear ratios in current line. Previous and next lines are needed to find gears that connected to
-     * top/bottom parts
-     *
-     * @param previous previous line of input
-     * @param current current line of input
-     * @param next next lint of input
-     * @return sum of gear ratios
-     */
-    private static int getSumOfGearRatios(String previous, String current, String next) {
-        List<String> adjustedNumbers = new ArrayList<>();
-        int sumOfGearRatiosInLine = 0;
-
-        for (int i = 0; i < current.length(); i++) {
-            if (current.charAt(i) == '*') {
-                if (previous != null) {
-                    adjustedNumbers.addAll(getAdjustedNumbers(previous, i));
-                }
-                adjustedNumbers.addAll(getAdjustedNumbers(current, i));
-                if (adjustedNumbers.size() < 3 && next != null) {
-                    adjustedNumbers.addAll(getAdjustedNumbers(next, i));
-                }
-                if (adjustedNumbers.size() == 2) {
-                    sumOfGearRatiosInLine += adjustedNumbers.stream().map(Integer::parseInt)
-                            .reduce(1, (acc, a) -> acc * a);
-                }
-                adjustedNumbers.clear();
-            }
-        }
-
-        return sumOfGearRatiosInLine;
+    @Override
+    public boolean isSinglePass() {
+        return true;
     }
 
     /**
-     * Find all numbers adjusted to index (e.g. number last digit in index - 1 position, number first digit in index + 1
-     * position or any number digit in index position)
-     *
-     * @return list of adjusted numbers (1 or 2 or null)
+     * Both sums are computed in the parse phase, in one pass over the symbols of the labeled grid. Tall schematics are
+     * read in chunks of lines and summed in bands of rows on all cores.
      */
-    private static List<String> getAdjustedNumbers(String line, int index) {
-        List<String> adjustedNumbers = new ArrayList<>();
-
-        if (isCharacterInSequence(DIGITS, line.charAt(index))) {
-            adjustedNumbers.add(extractNumberFromString(line, index));
-        } else {
-            adjustedNumbers.add(extractNumberFromString(line, index - 1));
-            adjustedNumbers.add(extractNumberFromString(line, index + 1));
-        }
-
-        return adjustedNumbers.stream().filter(Objects::nonNull).collect(Collectors.toList());
+    @Override
+    public Schematic.Parts parse(InputFile input) {
+        return Schematic.read(input.content()).sumParts(Schematic.DEFAULT_BAND_HEIGHT);
     }
 
-    /**
-     * Extract number that have digit in index position
-     *
-     * @return number as string
-     */
-    private static String extractNumberFromString(String line, int index) {
-        String number = null;
-        int lineLength = line.length();
-        if (index >= 0 && index < lineLength && isCharacterInSequence(DIGITS, line.charAt(index))) {
-            int numberStart = index;
-            int numberEnd = index;
-            while (true) {
-                int exit = 0;
-                if (numberStart > -1 && isCharacterInSequence(DIGITS, line.charAt(numberStart))) {
-                    numberStart = numberStart - 1;
-                    exit = exit + numberStart == -1 ? 0 : 1;
-                }
-                if (numberEnd < lineLength && isCharacterInSequence(DIGITS, line.charAt(numberEnd))) {
-                    numberEnd = numberEnd + 1;
-                    exit = exit + numberEnd == lineLength ? 0 : 1;
-                }
-                if (exit == 0) {
-                    break;
-                }
-            }
-            number = line.substring(numberStart + 1, numberEnd);
-        }
-
-        return number;
+    @Override
+    public Object part1(Schematic.Parts parts) {
+        return parts.parts();
     }
 
-    /**
-     * Verify is any character around our is a symbol (3 positions: index - 1, index, index + 1)
-     * @param lineToVerify string to verify
-     * @param index central position
-     * @param verifyIndexPosition false if central position should not be verified
-     * @return boolean value is positions contains symbol
-     */
-    private static boolean verifySymbolsAround(String lineToVerify, int index, boolean verifyIndexPosition) {
-        int prevIndex = index - 1;
-        int nextIndex = index + 1;
-        return (prevIndex > 0 && !isCharacterInSequence(NOT_SYMBOLS, lineToVerify.charAt(prevIndex)))
-                || (verifyIndexPosition && !isCharacterInSequence(NOT_SYMBOLS, lineToVerify.charAt(index)))
-                || (nextIndex < lineToVerify.length() && !isCharacterInSequence(NOT_SYMBOLS, lineToVerify.charAt(nextIndex)));
+    @Override
+    public Object part2(Schematic.Parts parts) {
+        return parts.gearRatios();
     }
 
-    /**
-     * @return true if character in the sequence
-     */
-    private static boolean isCharacterInSequence(String sequence, char character) {
-        return sequence.indexOf(character) != -1;
+    @Override
+    public Fold newFold() {
+        return new RowWindow();
     }
 }
@@ -0,0 +1,156 @@
+package ru.selestrel.challenge.aoc2023.day3;
+
+import ru.selestrel.challenge.aoc2023.StreamingSolver;
+import ru.selestrel.challenge.aoc2023.input.ByteView;
+
+import java.util.Arrays;
+
+/**
+ * Streaming sums of a schematic over a ring of three reusable rows. A row is copied into the ring and its number spans
+ * are labeled once when it is added; its numbers and gears are pending until the next row is added, then they are
+ * checked against the rows above and below and the oldest row is reused. Memory depends on the row width only, so
+ * schematics of any height are summed at the same speed.
+ */
+final class RowWindow implements StreamingSolver.Fold {
+
+    private final Row[] ring = {new Row(), new Row(), new Row()};
+    private int rowCount = 0;
+    private long parts = 0;
+    private long gearRatios = 0;
+
+    /**
+     * One row of the schematic with number spans: the cells of the number i are [starts[i], ends[i])
+     */
+    private static final class Row {
+
+        private byte[] cells = new byte[256];
+        private int[] numberIds = new int[256];
+        private int length;
+        private int[] starts = new int[64];
+        private int[] ends = new int[64];
+        private long[] values = new long[64];
+        private int numberCount;
+
+        void read(ByteView line) {
+            length = line.length() > 0 && line.byteAt(line.length() - 1) == '\r' ? line.length() - 1 : line.length();
+            if (length > cells.length) {
+                cells = new byte[Math.max(length, cells.length * 2)];
+                numberIds = new int[cells.length];
+            }
+            numberCount = 0;
+            int id = Schematic.NO_NUMBER;
+            for (int column = 0; column < length; column++) {
+                byte cell = line.byteAt(column);
+                cells[column] = cell;
+                if (!Schematic.isDigit(cell)) {
+                    id = Schematic.NO_NUMBER;
+                } else {
+                    if (id == Schematic.NO_NUMBER) {
+                        if (numberCount == values.length) {
+                            starts = Arrays.copyOf(starts, numberCount * 2);
+                            ends = Arrays.copyOf(ends, numberCount * 2);
+                            values = Arrays.copyOf(values, numberCount * 2);
+                        }
+                        id = numberCount++;
+                        starts[id] = column;
+                        values[id] = 0;
+                    }
+                    values[id] = values[id] * 10 + (cell - '0');
+                    ends[id] = column + 1;
+                }
+                numberIds[column] = id;
+            }
+        }
+
+        byte cell(int column) {
+            return column >= 0 && column < length ? cells[column] : Schematic.EMPTY;
+        }
+
+        int numberId(int column) {
+            return column >= 0 && column < length ? numberIds[column] : Schematic.NO_NUMBER;
+        }
+    }
+
+    @Override
+    public void accept(ByteView line) {
+        ring[rowCount % ring.length].read(line);
+        rowCount++;
+        if (rowCount > 1) {
+            Schematic.Parts middle = sumRow(rowCount - 2);
+            parts += middle.parts();
+            gearRatios += middle.gearRatios();
+        }
+    }
+
+    @Override
+    public Object part1() {
+        return parts + sumLastRow().parts();
+    }
+
+    @Override
+    public Object part2() {
+        return gearRatios + sumLastRow().gearRatios();
+    }
+
+    /**
+     * The last row has no row below yet, it is summed as if it were the last row of the schematic
+     */
+    private Schematic.Parts sumLastRow() {
+        return rowCount == 0 ? new Schematic.Parts(0, 0) : sumRow(rowCount - 1);
+    }
+
+    /**
+     * @return part numbers and gear ratios of the gears in the row, the row before and after it must be in the ring
+     */
+    private Schematic.Parts sumRow(int index) {
+        Row above = index > 0 ? ring[(index - 1) % ring.length] : null;
+        Row row = ring[index % ring.length];
+        Row below = index + 1 < rowCount ? ring[(index + 1) % ring.length] : null;
+
+        long rowParts = 0;
+        for (int number = 0; number < row.numberCount; number++) {
+            if (hasSymbol(above, row, below, row.starts[number] - 1, row.ends[number] + 1)) {
+                rowParts += row.values[number];
+            }
+        }
+
+        long rowGearRatios = 0;
+        for (int column = 0; column < row.length; column++) {
+            if (row.cells[column] != Schematic.GEAR) {
+                continue;
+            }
+            int adjacent = 0;
+            long ratio = 1;
+            for (int offset = -1; offset <= 1; offset++) {
+                Row neighbor = offset == -1 ? above : offset == 0 ? row : below;
+                if (neighbor == null) {
+                    continue;
+                }
+                int previous = Schematic.NO_NUMBER;
+                for (int neighborColumn = column - 1; neighborColumn <= column + 1; neighborColumn++) {
+                    int id = neighbor.numberId(neighborColumn);
+                    if (id != Schematic.NO_NUMBER && id != previous) {
+                        adjacent++;
+                        ratio *= neighbor.values[id];
+                    }
+                    previous = id;
+                }
+            }
+            rowGearRatios += adjacent == 2 ? ratio : 0;
+        }
+        return new Schematic.Parts(rowParts, rowGearRatios);
+    }
+
+    /**
+     * @return true if there is a symbol in columns [from, to) of any of the rows (null rows are empty)
+     */
+    private static boolean hasSymbol(Row above, Row row, Row below, int from, int to) {
+        for (int column = from; column < to; column++) {
+            if (Schematic.isSymbol(row.cell(column)) || above != null && Schematic.isSymbol(above.cell(column))
+                    || below != null && Schematic.isSymbol(below.cell(column))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,237 @@
+package ru.selestrel.challenge.aoc2023.day3;
+
+import ru.selestrel.challenge.aoc2023.input.ByteView;
+import ru.selestrel.challenge.aoc2023.input.LineChunks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Engine schematic as a flat grid of bytes, row after row. Every number run is labeled once when the grid is read:
+ * its cells get the id of the number and the value is kept by id, so a symbol finds its adjacent numbers by looking
+ * at the 8 cells around it, without reading digits again. Shorter lines are padded with '.'.
+ *
+ * Every symbol only needs the rows next to it, so the sums can be computed in bands of rows on different threads, see
+ * {@link #sumParts(int)}. Lines are copied and labeled in chunks on different threads as well, see
+ * {@link #read(ByteView)}.
+ */
+final class Schematic {
+
+    static final byte EMPTY = '.';
+    static final byte GEAR = '*';
+    static final int NO_NUMBER = -1;
+    static final int DEFAULT_BAND_HEIGHT = 4096;
+
+    private final byte[] cells;
+    private final int width;
+    private final int height;
+    //number id of every cell, NO_NUMBER if the cell is not a digit
+    private final int[] numberIds;
+    private final long[] values;
+    //id of the first number of every row and the numbers count at the end, ids are given row after row
+    private final int[] rowFirstIds;
+
+    /**
+     * @param parts sum of numbers adjacent to any symbol
+     * @param gearRatios sum of products of the two numbers adjacent to every gear with exactly two numbers
+     */
+    record Parts(long parts, long gearRatios) {
+
+        Parts add(Parts other) {
+            return new Parts(parts + other.parts(), gearRatios + other.gearRatios());
+        }
+    }
+
+    /**
+     * Lines of one chunk of the input with the rows and numbers count, chunks are counted and labeled on different
+     * threads
+     */
+    private record Chunk(ByteView lines, int height, int width, int numberCount) {
+
+        static Chunk count(ByteView lines) {
+            int height = 0;
+            int width = 0;
+            int numberCount = 0;
+            for (ByteView line : lines.lines()) {
+                int length = lineLength(line);
+                width = Math.max(width, length);
+                height++;
+                boolean isNumber = false;
+                for (int column = 0; column < length; column++) {
+                    boolean isDigit = isDigit(line.byteAt(column));
+                    numberCount += isDigit && !isNumber ? 1 : 0;
+                    isNumber = isDigit;
+                }
+            }
+            return new Chunk(lines, height, width, numberCount);
+        }
+    }
+
+    private Schematic(int width, int height, int numberCount) {
+        this.cells = new byte[width * height];
+        this.width = width;
+        this.height = height;
+        this.numberIds = new int[cells.length];
+        this.values = new long[numberCount];
+        this.rowFirstIds = new int[height + 1];
+        rowFirstIds[height] = numberCount;
+    }
+
+    /**
+     * Chunks of lines are counted on common fork-join pool workers, then the first row and the first number id of
+     * every chunk are prefix sums of the counts of the chunks before it, so the chunks are copied and labeled on the
+     * workers too, each in its own rows and ids.
+     */
+    static Schematic read(ByteView view) {
+        List<Chunk> chunks = LineChunks.split(view, LineChunks.DEFAULT_CHUNK_SIZE).parallelStream()
+                .map(Chunk::count)
+                .toList();
+        int[] firstRows = new int[chunks.size() + 1];
+        int[] firstIds = new int[chunks.size() + 1];
+        int width = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            firstRows[i + 1] = firstRows[i] + chunks.get(i).height();
+            firstIds[i + 1] = firstIds[i] + chunks.get(i).numberCount();
+            width = Math.max(width, chunks.get(i).width());
+        }
+        Schematic schematic = new Schematic(width, firstRows[chunks.size()], firstIds[chunks.size()]);
+        IntStream.range(0, chunks.size()).parallel()
+                .forEach(i -> schematic.label(chunks.get(i).lines(), firstRows[i], firstIds[i]));
+        return schematic;
+    }
+
+    /**
+     * Copy the lines into the rows from firstRow padded with EMPTY and label their numbers with ids from firstId
+     */
+    private void label(ByteView lines, int firstRow, int firstId) {
+        int row = firstRow;
+        int id = firstId;
+        for (ByteView line : lines.lines()) {
+            rowFirstIds[row] = id;
+            int length = lineLength(line);
+            int rowStart = row * width;
+            boolean isNumber = false;
+            for (int column = 0; column < length; column++) {
+                byte cell = line.byteAt(column);
+                cells[rowStart + column] = cell;
+                if (!isDigit(cell)) {
+                    isNumber = false;
+                    numberIds[rowStart + column] = NO_NUMBER;
+                    continue;
+                }
+                if (!isNumber) {
+                    isNumber = true;
+                    id++;
+                }
+                values[id - 1] = values[id - 1] * 10 + (cell - '0');
+                numberIds[rowStart + column] = id - 1;
+            }
+            Arrays.fill(cells, rowStart + length, rowStart + width, EMPTY);
+            Arrays.fill(numberIds, rowStart + length, rowStart + width, NO_NUMBER);
+            row++;
+        }
+    }
+
+    int width() {
+        return width;
+    }
+
+    int height() {
+        return height;
+    }
+
+    byte cell(int row, int column) {
+        return cells[row * width + column];
+    }
+
+    /**
+     * @return id of the number with a digit in the cell, or NO_NUMBER
+     */
+    int numberId(int row, int column) {
+        return numberIds[row * width + column];
+    }
+
+    long value(int numberId) {
+        return values[numberId];
+    }
+
+    int numberCount() {
+        return values.length;
+    }
+
+    /**
+     * Both sums in one pass over the symbols, in bands of bandHeight rows on common fork-join pool workers. A number
+     * adjacent to several symbols is added once.
+     */
+    Parts sumParts(int bandHeight) {
+        int bands = (height + bandHeight - 1) / bandHeight;
+        return IntStream.range(0, bands).parallel()
+                .mapToObj(band -> sumParts(band * bandHeight, Math.min(height, (band + 1) * bandHeight)))
+                .reduce(new Parts(0, 0), Parts::add);
+    }
+
+    /**
+     * Sums of the band of rows [from, to). Gears of the band rows are counted, and numbers of the band rows adjacent
+     * to any symbol, so symbols of one row above and below the band (the halo) are read too. A number at the band
+     * border belongs to the band of its row only, and ids of the band numbers go in a row, so a number is added once
+     * over all bands.
+     */
+    Parts sumParts(int from, int to) {
+        int firstId = rowFirstIds[from];
+        boolean[] counted = new boolean[rowFirstIds[to] - firstId];
+        long parts = 0;
+        long gearRatios = 0;
+        for (int row = Math.max(0, from - 1); row < Math.min(height, to + 1); row++) {
+            boolean isBandRow = row >= from && row < to;
+            for (int column = 0; column < width; column++) {
+                byte cell = cells[row * width + column];
+                if (!isSymbol(cell)) {
+                    continue;
+                }
+                int adjacent = 0;
+                long ratio = 1;
+                for (int neighborRow = Math.max(0, row - 1); neighborRow <= Math.min(height - 1, row + 1);
+                     neighborRow++) {
+                    int previous = NO_NUMBER;
+                    for (int neighborColumn = Math.max(0, column - 1);
+                         neighborColumn <= Math.min(width - 1, column + 1); neighborColumn++) {
+                        int id = numberIds[neighborRow * width + neighborColumn];
+                        //cells of one number are next to each other, so it is counted at its first cell only
+                        if (id != NO_NUMBER && id != previous) {
+                            adjacent++;
+                            ratio *= values[id];
+                            boolean isBandNumber = neighborRow >= from && neighborRow < to;
+                            if (isBandNumber && !counted[id - firstId]) {
+                                counted[id - firstId] = true;
+                                parts += values[id];
+                            }
+                        }
+                        previous = id;
+                    }
+                }
+                gearRatios += isBandRow && cell == GEAR && adjacent == 2 ? ratio : 0;
+            }
+        }
+        return new Parts(parts, gearRatios);
+    }
+
+    /**
+     * @return line length without the carriage return of a CRLF line end
+     */
+    private static int lineLength(ByteView line) {
+        int length = line.length();
+        return length > 0 && line.byteAt(length - 1) == '\r' ? length - 1 : length;
+    }
+
+    static boolean isDigit(byte cell) {
+        return cell >= '0' && cell <= '9';
+    }
+
+    /**
+     * Periods and digits are not symbols, anything else is
+     */
+    static boolean isSymbol(byte cell) {
+        return cell != EMPTY && !isDigit(cell);
+    }
+}
@@ -0,0 +1,181 @@
+package ru.selestrel.challenge.aoc2023.day3;
+
+import ru.selestrel.challenge.aoc2023.input.InputFile;
+
+import java.util.Arrays;
+
+/**
+ * Index of one schematic for repeated queries. Every symbol cell is mapped to the ids of its adjacent numbers (symbols
+ * are kept in row order, a cell is found by binary search), part values are summed into a 2D prefix sum, and gear
+ * ratios are summed by symbol and by the count of adjacent numbers. Rectangle and gear queries take O(1), symbol
+ * queries take O(log n) in the count of symbols.
+ */
+public final class SchematicIndex {
+
+    //at most two numbers in each of the 3 rows around a symbol
+    private static final int MAX_ADJACENT = 6;
+    private static final int SYMBOLS = 256;
+
+    private final Schematic schematic;
+    //cell index (row * width + column) of every symbol in row order
+    private final int[] symbolCells;
+    //adjacent number ids of the symbol i are in [adjacentFrom[i], adjacentFrom[i + 1])
+    private final int[] adjacentFrom;
+    private final int[] adjacentIds;
+    //part values by the cell of their first digit summed over rows [0, row) and columns [0, column), at
+    //row * (width + 1) + column
+    private final long[] prefix;
+    //ratio sums and counts by symbol * (MAX_ADJACENT + 1) + adjacent numbers count
+    private final long[] ratioSums;
+    private final int[] ratioCounts;
+
+    private SchematicIndex(Schematic schematic) {
+        this.schematic = schematic;
+        int width = schematic.width();
+        int height = schematic.height();
+
+        int[] cells = new int[64];
+        int[] from = new int[65];
+        int[] ids = new int[64];
+        int symbolCount = 0;
+        int idCount = 0;
+        boolean[] isPart = new boolean[schematic.numberCount()];
+        ratioSums = new long[SYMBOLS * (MAX_ADJACENT + 1)];
+        ratioCounts = new int[SYMBOLS * (MAX_ADJACENT + 1)];
+        for (int row = 0; row < height; row++) {
+            for (int column = 0; column < width; column++) {
+                byte cell = schematic.cell(row, column);
+                if (!Schematic.isSymbol(cell)) {
+                    continue;
+                }
+                if (symbolCount == cells.length) {
+                    cells = Arrays.copyOf(cells, symbolCount * 2);
+                    from = Arrays.copyOf(from, symbolCount * 2 + 1);
+                }
+                if (idCount + MAX_ADJACENT > ids.length) {
+                    ids = Arrays.copyOf(ids, ids.length * 2);
+                }
+                cells[symbolCount] = row * width + column;
+                from[symbolCount] = idCount;
+                long ratio = 1;
+                for (int neighborRow = Math.max(0, row - 1); neighborRow <= Math.min(height - 1, row + 1);
+                     neighborRow++) {
+                    int previous = Schematic.NO_NUMBER;
+                    for (int neighborColumn = Math.max(0, column - 1);
+                         neighborColumn <= Math.min(width - 1, column + 1); neighborColumn++) {
+                        int id = schematic.numberId(neighborRow, neighborColumn);
+                        if (id != Schematic.NO_NUMBER && id != previous) {
+                            ids[idCount++] = id;
+                            ratio *= schematic.value(id);
+                            isPart[id] = true;
+                        }
+                        previous = id;
+                    }
+                }
+                int key = (cell & 0xFF) * (MAX_ADJACENT + 1) + idCount - from[symbolCount];
+                ratioSums[key] += ratio;
+                ratioCounts[key]++;
+                symbolCount++;
+            }
+        }
+        from[symbolCount] = idCount;
+        symbolCells = Arrays.copyOf(cells, symbolCount);
+        adjacentFrom = Arrays.copyOf(from, symbolCount + 1);
+        adjacentIds = Arrays.copyOf(ids, idCount);
+
+        prefix = new long[(height + 1) * (width + 1)];
+        for (int row = 0; row < height; row++) {
+            long rowSum = 0;
+            for (int column = 0; column < width; column++) {
+                int id = schematic.numberId(row, column);
+                boolean isFirstDigit = id != Schematic.NO_NUMBER
+                        && (column == 0 || schematic.numberId(row, column - 1) != id);
+                rowSum += isFirstDigit && isPart[id] ? schematic.value(id) : 0;
+                prefix[(row + 1) * (width + 1) + column + 1] = prefix[row * (width + 1) + column + 1] + rowSum;
+            }
+        }
+    }
+
+    public static SchematicIndex of(InputFile input) {
+        return new SchematicIndex(Schematic.read(input.content()));
+    }
+
+    public int width() {
+        return schematic.width();
+    }
+
+    public int height() {
+        return schematic.height();
+    }
+
+    /**
+     * @return sum of all part numbers
+     */
+    public long sumOfParts() {
+        return sumOfParts(0, 0, height(), width());
+    }
+
+    /**
+     * A part number is inside the rectangle if its first digit is, the rest of its digits may be outside
+     *
+     * @return sum of part numbers in rows [fromRow, toRow) and columns [fromColumn, toColumn), bounds are clamped to
+     * the schematic
+     */
+    public long sumOfParts(int fromRow, int fromColumn, int toRow, int toColumn) {
+        fromRow = Math.max(0, fromRow);
+        fromColumn = Math.max(0, fromColumn);
+        toRow = Math.min(height(), toRow);
+        toColumn = Math.min(width(), toColumn);
+        if (fromRow >= toRow || fromColumn >= toColumn) {
+            return 0;
+        }
+        int stride = width() + 1;
+        return prefix[toRow * stride + toColumn] - prefix[fromRow * stride + toColumn]
+                - prefix[toRow * stride + fromColumn] + prefix[fromRow * stride + fromColumn];
+    }
+
+    /**
+     * @return values of the numbers adjacent to the symbol, in row order
+     * @throws IllegalArgumentException if there is no symbol in the cell
+     */
+    public long[] partsAround(int row, int column) {
+        int symbol = row >= 0 && row < height() && column >= 0 && column < width()
+                ? Arrays.binarySearch(symbolCells, row * width() + column) : -1;
+        if (symbol < 0) {
+            throw new IllegalArgumentException("No symbol at row " + row + ", column " + column);
+        }
+        long[] parts = new long[adjacentFrom[symbol + 1] - adjacentFrom[symbol]];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = schematic.value(adjacentIds[adjacentFrom[symbol] + i]);
+        }
+        return parts;
+    }
+
+    /**
+     * Gears of the puzzle are '*' symbols with exactly two numbers
+     *
+     * @return count of the symbols with exactly arity adjacent numbers
+     */
+    public int countGears(char symbol, int arity) {
+        return isIndexed(symbol, arity) ? ratioCounts[symbol * (MAX_ADJACENT + 1) + arity] : 0;
+    }
+
+    /**
+     * @return sum of products of the adjacent numbers of the symbols with exactly arity adjacent numbers
+     */
+    public long sumOfGearRatios(char symbol, int arity) {
+        return isIndexed(symbol, arity) ? ratioSums[symbol * (MAX_ADJACENT + 1) + arity] : 0;
+    }
+
+    /**
+     * @return false for a valid query that has no matches, like arity larger than the count of numbers that fit
+     * around a symbol
+     * @throws IllegalArgumentException if the arity is not positive
+     */
+    private static boolean isIndexed(char symbol, int arity) {
+        if (arity < 1) {
+            throw new IllegalArgumentException("Arity must be positive: " + arity);
+        }
+        return symbol < SYMBOLS && arity <= MAX_ADJACENT;
+    }
+}
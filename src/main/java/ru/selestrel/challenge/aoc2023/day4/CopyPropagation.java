@@ -0,0 +1,49 @@
+package ru.selestrel.challenge.aoc2023.day4;
+
+/**
+ * Running count of scratchcards with won copies, cards are added in order. A card wins a copy of each of the next
+ * matches cards for every instance of it, so its instances count is added to a difference ring at the next card and
+ * subtracted after the last won card: a card takes the same time for any matches and copies count, and the ring keeps
+ * only as many cards as the largest matches count. Copies won past the last added card are not counted.
+ */
+final class CopyPropagation {
+
+    //differences of copies count between a card and the card before it, the current card is at position
+    private long[] differences = new long[16];
+    private int position = 0;
+    //copies of the current card
+    private long copies = 0;
+    private long total = 0;
+
+    /**
+     * Add the next card
+     *
+     * @return instances of the card, the original and the copies
+     */
+    long add(int matches) {
+        copies += differences[position];
+        differences[position] = 0;
+        long instances = copies + 1;
+        total += instances;
+
+        if (matches + 1 >= differences.length) {
+            long[] larger = new long[Integer.highestOneBit(matches + 1) * 2];
+            for (int i = 0; i < differences.length; i++) {
+                larger[i] = differences[(position + i) % differences.length];
+            }
+            differences = larger;
+            position = 0;
+        }
+        differences[(position + 1) % differences.length] += instances;
+        differences[(position + matches + 1) % differences.length] -= instances;
+        position = (position + 1) % differences.length;
+        return instances;
+    }
+
+    /**
+     * @return instances of all added cards
+     */
+    long total() {
+        return total;
+    }
+}
@@ -0,0 +1,73 @@
+package ru.selestrel.challenge.aoc2023.day4;
+
+import ru.selestrel.challenge.aoc2023.InputGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Pile of size scratchcards with 10 winning numbers and 25 numbers you have (1-99). Most cards have no matches and
+ * the rest have 1-3, so the count of won copies grows linearly with size instead of exploding. Cards never win copies
+ * past the end of the table.
+ */
+public class Generator implements InputGenerator {
+
+    private static final int WINNING_NUMBERS = 10;
+    private static final int NUMBERS_YOU_HAVE = 25;
+    private static final int MAX_NUMBER = 99;
+
+    @Override
+    public int day() {
+        return 4;
+    }
+
+    @Override
+    public int defaultSize() {
+        return 10_000;
+    }
+
+    @Override
+    public void generate(int size, Random random, Writer out) throws IOException {
+        int numberWidth = String.valueOf(size).length();
+        int[] numbers = new int[MAX_NUMBER];
+        StringBuilder line = new StringBuilder();
+        for (int card = 1; card <= size; card++) {
+            for (int i = 0; i < MAX_NUMBER; i++) {
+                numbers[i] = i + 1;
+            }
+            //first WINNING_NUMBERS numbers are winning, the next ones are never winning
+            shuffle(numbers, MAX_NUMBER, random);
+            int matches = random.nextInt(10) < 6 ? 0 : 1 + random.nextInt(3);
+            matches = Math.min(matches, size - card);
+
+            int[] numbersYouHave = new int[NUMBERS_YOU_HAVE];
+            System.arraycopy(numbers, 0, numbersYouHave, 0, matches);
+            System.arraycopy(numbers, WINNING_NUMBERS, numbersYouHave, matches, NUMBERS_YOU_HAVE - matches);
+            shuffle(numbersYouHave, NUMBERS_YOU_HAVE, random);
+
+            line.setLength(0);
+            line.append("Card ").append(" ".repeat(numberWidth - String.valueOf(card).length())).append(card)
+                    .append(':');
+            appendNumbers(line, numbers, WINNING_NUMBERS);
+            line.append(" |");
+            appendNumbers(line, numbersYouHave, NUMBERS_YOU_HAVE);
+            out.append(line).append('\n');
+        }
+    }
+
+    private static void appendNumbers(StringBuilder line, int[] numbers, int count) {
+        for (int i = 0; i < count; i++) {
+            line.append(numbers[i] < 10 ? "  " : " ").append(numbers[i]);
+        }
+    }
+
+    private static void shuffle(int[] array, int count, Random random) {
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+}
@@ -1,14 +1,10 @@
 package ru.selestrel.challenge.aoc2023.day4;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Scanner;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
+import ru.selestrel.challenge.aoc2023.Solver;
+import ru.selestrel.challenge.aoc2023.StreamingSolver;
+import ru.selestrel.challenge.aoc2023.input.ByteCursor;
+import ru.selestrel.challenge.aoc2023.input.ByteView;
+import ru.selestrel.challenge.aoc2023.input.InputFile;
 
 /**
  * Puzzle 1
@@ -87,71 +83,80 @@ import java.util.stream.Stream;
  * this example pile of scratchcards causes you to ultimately have 30 scratchcards!
  * Process all of the original and copied scratchcards until no more scratchcards are won. Including the original set
  * of scratchcards, how many total scratchcards do you end up with?
+ *
+ * Cards are scored in parallel in the parse phase, see {@link Scratchcards}, then the puzzles are sequential passes
+ * over the winning numbers counts.
  */
+public class Main implements Solver<Scratchcards>, StreamingSolver {
 
-public class Main {
-
-    static Map<Integer, Integer> scratchcards = new HashMap<>();
-    public static void main(String[] args) {
-
-        File input = new File("src/main/java/ru/selestrel/challenge/aoc2023/day4/input.txt");
+    record Card(int cardNumber, NumberSet winningNumbers, NumberSet numbersYouHave) {
 
-        int totalWorth = 0;
-        try {
-            Scanner reader = new Scanner(input);
-            int cardNumber = 0;
+        int getWinningNumbersCount() {
+            return winningNumbers.countCommon(numbersYouHave);
+        }
+    }
 
-            while (reader.hasNext()) {
-                String line = reader.nextLine();
-                cardNumber = Integer.parseInt(line.split(":")[0].replaceAll("\\s+", ",")
-                        .split(",")[1]);
-                String cardNumbers = line.split(":")[1];
-                List<String> winningNumbers = Stream.of(cardNumbers.split("\\|")[0].trim()
-                                .replaceAll("\\s+", ",").split(",")).collect(Collectors.toList());
-                List<String> numbersYouHave = Stream.of(cardNumbers.split("\\|")[1].trim()
-                                .replaceAll("\\s+", ",").split(",")).collect(Collectors.toList());
-                int winningNumbersCount = getWinningNumbersCount(winningNumbers, numbersYouHave);
+    public static void main(String[] args) {
+        new Main().solve().print();
+    }
 
-                //Puzzle 1
-                totalWorth += calculatePileWorth(winningNumbersCount);
+    @Override
+    public int day() {
+        return 4;
+    }
 
-                //Puzzle 2
-                updateScratchcards(cardNumber, winningNumbersCount);
-            }
+    @Override
+    public Scratchcards parse(InputFile input) {
+        return Scratchcards.score(input.content());
+    }
 
-            int lastCardNumber = cardNumber;
+    /**
+     * Read the card at the cursor, the cursor may be reused for the next card
+     */
+    static Card parseCard(ByteCursor cursor) {
+        int cardNumber = cursor.skip("Card").nextInt();
+        NumberSet winningNumbers = NumberSet.read(cursor.skip((byte) ':'));
+        NumberSet numbersYouHave = NumberSet.read(cursor.skip((byte) '|'));
+        return new Card(cardNumber, winningNumbers, numbersYouHave);
+    }
 
-            System.out.println("First puzzle result: " + totalWorth);
-            System.out.println("Second puzzle result: " + scratchcards.entrySet().stream()
-                    .filter(entry -> entry.getKey() <= lastCardNumber)
-                    .map(Map.Entry::getValue)
-                    .reduce(0, Integer::sum));
+    @Override
+    public Object part1(Scratchcards scratchcards) {
+        return scratchcards.totalWorth();
+    }
 
-            reader.close();
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
-        }
+    @Override
+    public Object part2(Scratchcards scratchcards) {
+        return scratchcards.countWithCopies();
     }
 
-    private static void updateScratchcards(int cardNumber, int winningNumbersCount) {
-        scratchcards.put(cardNumber, scratchcards.get(cardNumber) == null ? 1 : scratchcards.get(cardNumber) + 1);
-        //calculate cards count = original + copies
-        int count = scratchcards.get(cardNumber);
+    @Override
+    public Fold newFold() {
+        return new Fold() {
+            private final ByteCursor cursor = new ByteCursor();
+            private final CopyPropagation scratchcards = new CopyPropagation();
+            private long totalWorth = 0;
 
-        IntStream.range(0, count)
-                .forEach(loop -> IntStream.range(1, winningNumbersCount + 1)
-                        .forEach(i -> {
-                            int key = cardNumber + i;
-                            scratchcards.put(key, scratchcards.get(key) == null ? 1 : scratchcards.get(key) + 1);
-                        }));
-    }
+            @Override
+            public void accept(ByteView line) {
+                int winningNumbersCount = parseCard(cursor.reset(line)).getWinningNumbersCount();
+                totalWorth += calculatePileWorth(winningNumbersCount);
+                scratchcards.add(winningNumbersCount);
+            }
 
-    private static int calculatePileWorth(int winningNumbersCount) {
-        return winningNumbersCount == 0 ? 0 : (int) Math.pow(2, winningNumbersCount - 1);
-    }
+            @Override
+            public Object part1() {
+                return totalWorth;
+            }
 
+            @Override
+            public Object part2() {
+                return scratchcards.total();
+            }
+        };
+    }
 
-    private static int getWinningNumbersCount(List<String> winningNumbers, List<String> numbersYouHave) {
-        return (int) winningNumbers.stream().filter(numbersYouHave::contains).count();
+    static long calculatePileWorth(int winningNumbersCount) {
+        return winningNumbersCount == 0 ? 0 : 1L << (winningNumbersCount - 1);
     }
 }
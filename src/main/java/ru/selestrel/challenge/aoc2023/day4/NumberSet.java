@@ -0,0 +1,63 @@
+package ru.selestrel.challenge.aoc2023.day4;
+
+import ru.selestrel.challenge.aoc2023.input.ByteCursor;
+
+/**
+ * Set of card numbers in [0, {@link #LIMIT}) as a bitmask of two longs: bit n of low is number n, bit n of high is
+ * number 64 + n. Common numbers of two sets are counted with two ANDs and two bit counts.
+ */
+public record NumberSet(long low, long high) {
+
+    public static final int LIMIT = 128;
+
+    /**
+     * @throws IllegalArgumentException if a number is out of [0, LIMIT)
+     */
+    public static NumberSet of(int... numbers) {
+        long low = 0;
+        long high = 0;
+        for (int number : numbers) {
+            low |= lowBit(number);
+            high |= highBit(number);
+        }
+        return new NumberSet(low, high);
+    }
+
+    /**
+     * Read whitespace separated numbers up to the first byte that is not a part of a number
+     *
+     * @throws IllegalArgumentException if a number is out of [0, LIMIT)
+     */
+    static NumberSet read(ByteCursor cursor) {
+        long low = 0;
+        long high = 0;
+        while (cursor.hasNextNumber()) {
+            int number = cursor.nextInt();
+            low |= lowBit(number);
+            high |= highBit(number);
+        }
+        return new NumberSet(low, high);
+    }
+
+    public int countCommon(NumberSet other) {
+        return Long.bitCount(low & other.low()) + Long.bitCount(high & other.high());
+    }
+
+    private static long lowBit(int number) {
+        return checkNumber(number) < Long.SIZE ? 1L << number : 0;
+    }
+
+    /**
+     * Long shifts use the lowest 6 bits of the distance only, so number 64 + n is bit n
+     */
+    private static long highBit(int number) {
+        return checkNumber(number) < Long.SIZE ? 0 : 1L << number;
+    }
+
+    private static int checkNumber(int number) {
+        if (number < 0 || number >= LIMIT) {
+            throw new IllegalArgumentException("Card number " + number + " is out of [0, " + LIMIT + ")");
+        }
+        return number;
+    }
+}
@@ -0,0 +1,68 @@
+package ru.selestrel.challenge.aoc2023.day4;
+
+import ru.selestrel.challenge.aoc2023.input.ByteCursor;
+import ru.selestrel.challenge.aoc2023.input.ByteView;
+import ru.selestrel.challenge.aoc2023.input.LineChunks;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Winning numbers count of every card of one pile in card order. Cards are independent, so they are scored in chunks
+ * of lines on common fork-join pool workers; only the propagation of copies needs the order and is a sequential pass
+ * over the counts. The pile does not change after it is scored, so it can be shared and many piles can be solved at
+ * the same time.
+ */
+final class Scratchcards {
+
+    private final int[] matches;
+
+    private Scratchcards(int[] matches) {
+        this.matches = matches;
+    }
+
+    static Scratchcards score(ByteView content) {
+        List<int[]> chunks = LineChunks.split(content, LineChunks.DEFAULT_CHUNK_SIZE).parallelStream()
+                .map(Scratchcards::scoreChunk)
+                .toList();
+        int[] matches = new int[chunks.stream().mapToInt(chunk -> chunk.length).sum()];
+        int position = 0;
+        for (int[] chunk : chunks) {
+            System.arraycopy(chunk, 0, matches, position, chunk.length);
+            position += chunk.length;
+        }
+        return new Scratchcards(matches);
+    }
+
+    private static int[] scoreChunk(ByteView chunk) {
+        ByteCursor cursor = new ByteCursor();
+        int[] matches = new int[1024];
+        int count = 0;
+        for (ByteView line : chunk.lines()) {
+            if (count == matches.length) {
+                matches = Arrays.copyOf(matches, count * 2);
+            }
+            matches[count++] = Main.parseCard(cursor.reset(line)).getWinningNumbersCount();
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    long totalWorth() {
+        long totalWorth = 0;
+        for (int count : matches) {
+            totalWorth += Main.calculatePileWorth(count);
+        }
+        return totalWorth;
+    }
+
+    /**
+     * @return instances of all cards, the originals and the won copies
+     */
+    long countWithCopies() {
+        CopyPropagation scratchcards = new CopyPropagation();
+        for (int count : matches) {
+            scratchcards.add(count);
+        }
+        return scratchcards.total();
+    }
+}
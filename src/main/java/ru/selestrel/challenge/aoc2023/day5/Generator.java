@@ -0,0 +1,57 @@
+package ru.selestrel.challenge.aoc2023.day5;
+
+import ru.selestrel.challenge.aoc2023.InputGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Almanac with size seed ranges and size ranges in each of the seven maps. All numbers are below 2^32, source ranges
+ * of a map never overlap and leave some gaps that map to themselves.
+ */
+public class Generator implements InputGenerator {
+
+    private static final long LIMIT = 1L << 32;
+    private static final String[] MAPS = {"seed-to-soil", "soil-to-fertilizer", "fertilizer-to-water",
+            "water-to-light", "light-to-temperature", "temperature-to-humidity", "humidity-to-location"};
+
+    @Override
+    public int day() {
+        return 5;
+    }
+
+    @Override
+    public int defaultSize() {
+        return 20;
+    }
+
+    @Override
+    public void generate(int size, Random random, Writer out) throws IOException {
+        StringBuilder line = new StringBuilder("seeds:");
+        for (int i = 0; i < size; i++) {
+            long length = 1 + random.nextLong(LIMIT / size / 2);
+            line.append(' ').append(random.nextLong(LIMIT - length)).append(' ').append(length);
+        }
+        out.append(line).append("\n");
+
+        for (String map : MAPS) {
+            out.append("\n").append(map).append(" map:\n");
+            long[] bounds = new long[size + 1];
+            for (int i = 0; i < bounds.length; i++) {
+                bounds[i] = random.nextLong(LIMIT);
+            }
+            Arrays.sort(bounds);
+            for (int i = 0; i < size; i++) {
+                long length = bounds[i + 1] - bounds[i];
+                if (length == 0 || random.nextInt(5) == 0) {
+                    continue;
+                }
+                out.append(String.valueOf(random.nextLong(LIMIT - length))).append(' ')
+                        .append(String.valueOf(bounds[i])).append(' ')
+                        .append(String.valueOf(length)).append('\n');
+            }
+        }
+    }
+}
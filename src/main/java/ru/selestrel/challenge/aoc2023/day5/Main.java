@@ -1,13 +1,13 @@
 package ru.selestrel.challenge.aoc2023.day5;
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import ru.selestrel.challenge.aoc2023.Solver;
+import ru.selestrel.challenge.aoc2023.input.ByteCursor;
+import ru.selestrel.challenge.aoc2023.input.InputFile;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Scanner;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  *
@@ -125,74 +125,71 @@ import java.util.stream.Stream;
  * location number that corresponds to any of the initial seed numbers?
  */
 
-public class Main {
+public class Main implements Solver<Main.Almanac> {
 
-    public static void main(String[] args) {
+    /**
+     * @param maps every map is a flat array of (destination start, source start, range) triples
+     */
+    record Almanac(long[] seeds, List<long[]> maps) {
+    }
 
-        List<String> mapParts = getStrings();
-        List<Long> seedList = Stream.of(mapParts.get(0).split(": ")[1].replaceAll(",", "")
-                .split(" ")).map(Long::parseLong).toList();
+    public static void main(String[] args) {
+        new Main().solve().print();
+    }
 
-        //Puzzle 1
-        List<List<Long>> ranges = seedList.stream().map(seed -> List.of(seed, 1L)).collect(Collectors.toList());
+    @Override
+    public int day() {
+        return 5;
+    }
 
-        for (String part : mapParts) {
-            if (!part.contains("seeds")) {
-                List<List<Long>> result = new ArrayList<>();
-                ranges.forEach(range -> result.addAll(getMappedRanges(range.get(0), range.get(1), part)));
-                ranges = result;
-            }
+    @Override
+    public Almanac parse(InputFile input) {
+        ByteCursor cursor = new ByteCursor(input.content());
+        long[] seeds = cursor.skipPast((byte) ':').nextLongs();
+        List<long[]> maps = new ArrayList<>();
+        while (cursor.hasNext()) {
+            maps.add(cursor.skipPast((byte) ':').nextLongs());
         }
 
-        System.out.println(ranges.stream().map(range -> range.get(0)).min(Long::compareTo).get());
-
-        //Puzzle 2
-        ranges.clear();
-        for (int i = 0; i < seedList.size(); i += 2) {
-            ranges.add(List.of(seedList.get(i), seedList.get(i + 1)));
-        }
+        return new Almanac(seeds, maps);
+    }
 
-        for (String part : mapParts) {
-            if (!part.contains("seeds")) {
-                List<List<Long>> result = new ArrayList<>();
-                ranges.forEach(range -> result.addAll(getMappedRanges(range.get(0), range.get(1), part)));
-                ranges = result;
-            }
-        }
+    @Override
+    public Object part1(Almanac almanac) {
+        List<List<Long>> ranges = Arrays.stream(almanac.seeds()).mapToObj(seed -> List.of(seed, 1L))
+                .collect(Collectors.toList());
 
-        System.out.println(ranges.stream().map(range -> range.get(0)).min(Long::compareTo).get());
+        return getLowestLocation(ranges, almanac.maps());
     }
 
-    private static List<String> getStrings() {
-        File input = new File("src/main/java/ru/selestrel/challenge/aoc2023/day5/input.txt");
-        String inputString;
+    @Override
+    public Object part2(Almanac almanac) {
+        long[] seeds = almanac.seeds();
+        List<List<Long>> ranges = new ArrayList<>();
+        for (int i = 0; i < seeds.length; i += 2) {
+            ranges.add(List.of(seeds[i], seeds[i + 1]));
+        }
 
-        try {
-            Scanner scanner = new Scanner(input);
-            StringBuilder sb = new StringBuilder();
-            while (scanner.hasNext()) {
-                String nextLine = scanner.nextLine();
-                sb.append(nextLine.isEmpty() ? ";" : nextLine + ",");
-            }
+        return getLowestLocation(ranges, almanac.maps());
+    }
 
-            inputString = sb.toString();
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
+    private static long getLowestLocation(List<List<Long>> ranges, List<long[]> maps) {
+        for (long[] map : maps) {
+            List<List<Long>> result = new ArrayList<>();
+            ranges.forEach(range -> result.addAll(getMappedRanges(range.get(0), range.get(1), map)));
+            ranges = result;
         }
 
-        return List.of(inputString.split(";"));
+        return ranges.stream().map(range -> range.get(0)).min(Long::compareTo).get();
     }
 
-    private static List<List<Long>> getMappedRanges(long source, long range, String targetMap) {
-        List<String> targetMapList = Arrays.stream(targetMap.split(":")[1].split(","))
-                .filter(str -> !str.isEmpty()).toList();
+    private static List<List<Long>> getMappedRanges(long source, long range, long[] targetMap) {
         List<List<Long>> result = new ArrayList<>();
         List<List<Long>> foundRanges = new ArrayList<>();
-        for (int i = 0; i < targetMapList.size(); i++) {
-            List<Long> partData = Arrays.stream(targetMapList.get(i).split(" ")).map(Long::parseLong).toList();
-            Long md = partData.get(0); //map destination start
-            long ms = partData.get(1); //map source start
-            long mr = partData.get(2); //map range
+        for (int i = 0; i < targetMap.length; i += 3) {
+            long md = targetMap[i]; //map destination start
+            long ms = targetMap[i + 1]; //map source start
+            long mr = targetMap[i + 2]; //map range
             if (isIntersect(source, range, ms, mr)) {
                 long newSourceStart = Math.max(source, ms);
                 long newRange = Math.min(source + range, ms + mr) - newSourceStart;
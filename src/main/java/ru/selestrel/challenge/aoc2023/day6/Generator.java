@@ -0,0 +1,68 @@
+package ru.selestrel.challenge.aoc2023.day6;
+
+import ru.selestrel.challenge.aoc2023.InputGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Four races whose concatenated time (the second puzzle race) has as many digits as size (4 to 9 digits). Every
+ * race, including the concatenated one, can be won.
+ */
+public class Generator implements InputGenerator {
+
+    private static final int RACES = 4;
+    private static final int MAX_DIGITS = 9;
+
+    @Override
+    public int day() {
+        return 6;
+    }
+
+    @Override
+    public int defaultSize() {
+        return 10_000_000;
+    }
+
+    @Override
+    public void generate(int size, Random random, Writer out) throws IOException {
+        int digits = Math.min(MAX_DIGITS, Math.max(RACES, String.valueOf(size).length()));
+        long[] times = new long[RACES];
+        long[] distances = new long[RACES];
+        do {
+            int digitsLeft = digits;
+            for (int i = 0; i < RACES; i++) {
+                int raceDigits = i == RACES - 1 ? digitsLeft : 1 + random.nextInt(digitsLeft - (RACES - i) + 1);
+                digitsLeft -= raceDigits;
+                long lowest = (long) Math.pow(10, raceDigits - 1);
+                times[i] = Math.max(2, lowest + random.nextLong(lowest * 9));
+                distances[i] = random.nextLong(getBestDistance(times[i]));
+            }
+        } while (getBestDistance(concatenate(times)) <= concatenate(distances));
+
+        StringBuilder timeLine = new StringBuilder("Time:    ");
+        StringBuilder distanceLine = new StringBuilder("Distance:");
+        for (int i = 0; i < RACES; i++) {
+            String format = "%" + (String.valueOf(distances[i]).length() + 2) + "d";
+            timeLine.append(String.format(format, times[i]));
+            distanceLine.append(String.format(format, distances[i]));
+        }
+        out.append(timeLine).append('\n').append(distanceLine).append('\n');
+    }
+
+    /**
+     * @return distance of holding the button for half of the race
+     */
+    private static long getBestDistance(long time) {
+        return time / 2 * (time - time / 2);
+    }
+
+    private static long concatenate(long[] numbers) {
+        StringBuilder sb = new StringBuilder();
+        for (long number : numbers) {
+            sb.append(number);
+        }
+        return Long.parseLong(sb.toString());
+    }
+}
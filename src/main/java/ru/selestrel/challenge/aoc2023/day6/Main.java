@@ -1,11 +1,11 @@
 package ru.selestrel.challenge.aoc2023.day6;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.List;
-import java.util.Scanner;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import ru.selestrel.challenge.aoc2023.Solver;
+import ru.selestrel.challenge.aoc2023.input.ByteCursor;
+import ru.selestrel.challenge.aoc2023.input.ByteView;
+import ru.selestrel.challenge.aoc2023.input.InputFile;
+
+import java.util.Iterator;
 
 /**
  * The ferry quickly brings you across Island Island. After asking around, you discover that there is indeed normally a
@@ -77,38 +77,44 @@ import java.util.stream.Stream;
  * How many ways can you beat the record in this one much longer race?
  */
 
-public class Main {
+public class Main implements Solver<Main.Races> {
+
+    record Races(int[] timeList, int[] distanceList, long time, long distance) {
+    }
 
     public static void main(String[] args) {
+        new Main().solve().print();
+    }
 
-        File input = new File("src/main/java/ru/selestrel/challenge/aoc2023/day6/input.txt");
-        String timeString;
-        String distanceString;
+    @Override
+    public int day() {
+        return 6;
+    }
 
-        try {
-            Scanner scanner = new Scanner(input);
-            timeString = scanner.nextLine();
-            distanceString = scanner.nextLine();
+    @Override
+    public Races parse(InputFile input) {
+        Iterator<ByteView> lines = input.lines().iterator();
+        int[] timeList = getNumberList(lines.next());
+        int[] distanceList = getNumberList(lines.next());
 
-            scanner.close();
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
-        }
+        return new Races(timeList, distanceList, getConcatenatedNumber(timeList), getConcatenatedNumber(distanceList));
+    }
 
-        //Puzzle 1
+    @Override
+    public Object part1(Races races) {
         int result = 1;
-        List<Integer> timeList = getNumberList(timeString);
-        List<Integer> distanceList = getNumberList(distanceString);
-        for (int i = 0; i < timeList.size(); i++) {
-            result *= calculateWaysCount(timeList.get(i), distanceList.get(i));
+        int[] timeList = races.timeList();
+        int[] distanceList = races.distanceList();
+        for (int i = 0; i < timeList.length; i++) {
+            result *= calculateWaysCount(timeList[i], distanceList[i]);
         }
 
-        System.out.println(result);
+        return result;
+    }
 
-        //Puzzle 2
-        long time = getConcatenatedNumber(timeString);
-        long distance = getConcatenatedNumber(distanceString);
-        System.out.println(calculateWaysCount(time, distance));
+    @Override
+    public Object part2(Races races) {
+        return calculateWaysCount(races.time(), races.distance());
     }
 
     private static int calculateWaysCount(long time, long distance) {
@@ -122,12 +128,22 @@ public class Main {
         return count;
     }
 
-    private static List<Integer> getNumberList(String input) {
-        return Stream.of(input.replaceAll("\\s+",",").split(":,")[1].split(","))
-                .map(Integer::valueOf).collect(Collectors.toList());
+    private static int[] getNumberList(ByteView line) {
+        return new ByteCursor(line).skipPast((byte) ':').nextInts();
     }
 
-    private static long getConcatenatedNumber(String input) {
-        return Long.parseLong(input.replaceAll("\\s+", "").split(":")[1]);
+    /**
+     * @return number written by all numbers of the list without spaces between them
+     */
+    private static long getConcatenatedNumber(int[] numbers) {
+        long result = 0;
+        for (int number : numbers) {
+            long power = 10;
+            while (power <= number) {
+                power *= 10;
+            }
+            result = result * power + number;
+        }
+        return result;
     }
 }
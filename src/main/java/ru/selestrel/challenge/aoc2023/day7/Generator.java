@@ -0,0 +1,37 @@
+package ru.selestrel.challenge.aoc2023.day7;
+
+import ru.selestrel.challenge.aoc2023.InputGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * List of size random hands of five cards with bids 1-1000.
+ */
+public class Generator implements InputGenerator {
+
+    private static final String CARDS = "AKQJT98765432";
+
+    @Override
+    public int day() {
+        return 7;
+    }
+
+    @Override
+    public int defaultSize() {
+        return 100_000;
+    }
+
+    @Override
+    public void generate(int size, Random random, Writer out) throws IOException {
+        char[] hand = new char[5];
+        for (int i = 0; i < size; i++) {
+            for (int card = 0; card < hand.length; card++) {
+                hand[card] = CARDS.charAt(random.nextInt(CARDS.length()));
+            }
+            out.write(hand);
+            out.append(' ').append(String.valueOf(1 + random.nextInt(1000))).append('\n');
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package ru.selestrel.challenge.aoc2023.day7;
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import ru.selestrel.challenge.aoc2023.Solver;
+import ru.selestrel.challenge.aoc2023.StreamingSolver;
+import ru.selestrel.challenge.aoc2023.input.ByteCursor;
+import ru.selestrel.challenge.aoc2023.input.ByteView;
+import ru.selestrel.challenge.aoc2023.input.InputFile;
+
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Scanner;
 import java.util.stream.IntStream;
 
 /**
@@ -191,8 +194,8 @@ class Hand implements Comparable<Hand> {
         this.rank = rank;
     }
 
-    public int getWinningAmount() {
-        return bid * rank;
+    public long getWinningAmount() {
+        return (long) bid * rank;
     }
 
     @Override
@@ -207,36 +210,124 @@ class Hand implements Comparable<Hand> {
         return result;
     }
 }
-public class Main {
+public class Main implements Solver<List<String[]>>, StreamingSolver {
 
     public static void main(String[] args) {
+        new Main().solve().print();
+    }
 
-        File input = new File("src/main/java/ru/selestrel/challenge/aoc2023/day7/input.txt");
+    @Override
+    public int day() {
+        return 7;
+    }
 
-        List<Hand> hands = new ArrayList<>();
-        List<Hand> handsJoker = new ArrayList<>();
-
-        try {
-            Scanner scanner = new Scanner(input);
-            while (scanner.hasNext()) {
-                String[] hand = scanner.nextLine().split(" ");
-                hands.add(new Hand(hand[0], hand[1], false));
-                handsJoker.add(new Hand(hand[0], hand[1], true));
-            }
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
+    /**
+     * @return list of [cards, bid] pairs
+     */
+    @Override
+    public List<String[]> parse(InputFile input) {
+        List<String[]> hands = new ArrayList<>();
+        for (ByteView line : input.lines()) {
+            hands.add(line.toString().split(" "));
         }
 
-        //Puzzle 1
-        calculateTotalWinnings(hands);
+        return hands;
+    }
+
+    @Override
+    public Object part1(List<String[]> hands) {
+        return calculateTotalWinnings(hands, false);
+    }
+
+    @Override
+    public Object part2(List<String[]> hands) {
+        return calculateTotalWinnings(hands, true);
+    }
 
-        //Puzzle 2
-        calculateTotalWinnings(handsJoker);
+    @Override
+    public Fold newFold() {
+        return new HandTable();
     }
 
-    private static void calculateTotalWinnings(List<Hand> hands) {
+    private static long calculateTotalWinnings(List<String[]> handStrings, boolean useJoker) {
+        List<Hand> hands = new ArrayList<>();
+        for (String[] hand : handStrings) {
+            hands.add(new Hand(hand[0], hand[1], useJoker));
+        }
         hands.sort(Comparator.naturalOrder());
         IntStream.range(0, hands.size()).forEach(i -> hands.get(i).setRank(i + 1));
-        System.out.println(hands.stream().map(Hand::getWinningAmount).reduce(0, Integer::sum));
+        return hands.stream().mapToLong(Hand::getWinningAmount).sum();
+    }
+
+    /**
+     * Ranking needs all hands, but there are only 13^5 different hands, so bids are summed per hand in tables of fixed
+     * size instead of keeping the lines. Equal hands are ranked in input order, the same way the stable sort does:
+     * the k-th occurrence of a hand gets k ranks more than the first one, that is kept as a sum of bid * k.
+     */
+    private static class HandTable implements Fold {
+
+        private static final String CARDS = "23456789TJQKA";
+        private static final int HAND_SIZE = 5;
+        private static final int HANDS_COUNT = (int) Math.pow(CARDS.length(), HAND_SIZE);
+
+        private final int[] counts = new int[HANDS_COUNT];
+        private final long[] bids = new long[HANDS_COUNT];
+        private final long[] occurrenceBids = new long[HANDS_COUNT];
+
+        @Override
+        public void accept(ByteView line) {
+            int hand = getHand(line.slice(0, HAND_SIZE).toString());
+            int bid = new ByteCursor(line.slice(HAND_SIZE, line.length())).nextInt();
+            occurrenceBids[hand] += (long) bid * counts[hand];
+            bids[hand] += bid;
+            counts[hand]++;
+        }
+
+        @Override
+        public Object part1() {
+            return calculateTotalWinnings(false);
+        }
+
+        @Override
+        public Object part2() {
+            return calculateTotalWinnings(true);
+        }
+
+        private long calculateTotalWinnings(boolean useJoker) {
+            List<Hand> hands = new ArrayList<>();
+            for (int hand = 0; hand < HANDS_COUNT; hand++) {
+                if (counts[hand] > 0) {
+                    hands.add(new Hand(getCards(hand), "0", useJoker));
+                }
+            }
+            hands.sort(Comparator.naturalOrder());
+
+            long totalWinnings = 0;
+            long rank = 1;
+            for (Hand hand : hands) {
+                int index = getHand(hand.cards);
+                totalWinnings += bids[index] * rank + occurrenceBids[index];
+                rank += counts[index];
+            }
+
+            return totalWinnings;
+        }
+
+        private static int getHand(String cards) {
+            int hand = 0;
+            for (int i = 0; i < HAND_SIZE; i++) {
+                hand = hand * CARDS.length() + CARDS.indexOf(cards.charAt(i));
+            }
+            return hand;
+        }
+
+        private static String getCards(int hand) {
+            char[] cards = new char[HAND_SIZE];
+            for (int i = HAND_SIZE - 1; i >= 0; i--) {
+                cards[i] = CARDS.charAt(hand % CARDS.length());
+                hand /= CARDS.length();
+            }
+            return new String(cards);
+        }
     }
 }
@@ -0,0 +1,90 @@
+package ru.selestrel.challenge.aoc2023.day8;
+
+import ru.selestrel.challenge.aoc2023.InputGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Network of about size nodes (at most 16 000, node names have only three letters) walked by six ghosts.
+ * Ghost paths are ladders of two nodes per step: left instruction goes to one of them and right to the other one, so
+ * whatever the instructions are, a ghost reaches its "..Z" node every time after the same count of steps. The first
+ * ghost starts from AAA and ends in ZZZ.
+ */
+public class Generator implements InputGenerator {
+
+    private static final int GHOSTS = 6;
+    private static final int MAX_SIZE = 16_000;
+
+    @Override
+    public int day() {
+        return 8;
+    }
+
+    @Override
+    public int defaultSize() {
+        return 10_000;
+    }
+
+    @Override
+    public void generate(int size, Random random, Writer out) throws IOException {
+        int stepCount = Math.max(2, Math.min(size, MAX_SIZE) / GHOSTS / 2);
+
+        List<String> prefixes = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (char first = 'A'; first <= 'Z'; first++) {
+            for (char second = 'A'; second <= 'Z'; second++) {
+                if (first != second || (first != 'A' && first != 'Z')) {
+                    prefixes.add("" + first + second);
+                }
+                //names ending with A or Z are reserved for start and end nodes
+                for (char third = 'B'; third < 'Z'; third++) {
+                    names.add("" + first + second + third);
+                }
+            }
+        }
+        Collections.shuffle(prefixes, random);
+        Collections.shuffle(names, random);
+        int nextName = 0;
+
+        StringBuilder instructions = new StringBuilder();
+        int instructionsLength = 100 + random.nextInt(200);
+        for (int i = 0; i < instructionsLength; i++) {
+            instructions.append(random.nextBoolean() ? 'L' : 'R');
+        }
+        out.append(instructions).append("\n\n");
+
+        List<String> nodes = new ArrayList<>();
+        for (int ghost = 0; ghost < GHOSTS; ghost++) {
+            String start = ghost == 0 ? "AAA" : prefixes.get(ghost) + 'A';
+            String end = ghost == 0 ? "ZZZ" : prefixes.get(ghost) + 'Z';
+            int steps = Math.max(2, stepCount / 2 + random.nextInt(stepCount / 2 + 1));
+
+            //start and end lead to the first level, the last level leads to the end
+            String[] level = {names.get(nextName++), names.get(nextName++)};
+            nodes.add(getNode(start, level[0], level[1]));
+            nodes.add(getNode(end, level[0], level[1]));
+            for (int step = 1; step < steps - 1; step++) {
+                String[] nextLevel = {names.get(nextName++), names.get(nextName++)};
+                nodes.add(getNode(level[0], nextLevel[0], nextLevel[1]));
+                nodes.add(getNode(level[1], nextLevel[0], nextLevel[1]));
+                level = nextLevel;
+            }
+            nodes.add(getNode(level[0], end, end));
+            nodes.add(getNode(level[1], end, end));
+        }
+
+        Collections.shuffle(nodes, random);
+        for (String node : nodes) {
+            out.append(node).append('\n');
+        }
+    }
+
+    private static String getNode(String node, String left, String right) {
+        return node + " = (" + left + ", " + right + ")";
+    }
+}
@@ -1,7 +1,9 @@
 package ru.selestrel.challenge.aoc2023.day8;
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import ru.selestrel.challenge.aoc2023.Solver;
+import ru.selestrel.challenge.aoc2023.input.ByteView;
+import ru.selestrel.challenge.aoc2023.input.InputFile;
+
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -76,33 +78,46 @@ import java.util.regex.Pattern;
  * Simultaneously start on every node that ends with A. How many steps does it take before you're only on nodes that
  * end with Z?
  */
-public class Main {
+public class Main implements Solver<Main.Network> {
+
+    record Network(String instructions, Map<String, List<String>> nodes) {
+    }
 
     public static void main(String[] args) {
+        new Main().solve().print();
+    }
 
-        File input = new File("src/main/java/ru/selestrel/challenge/aoc2023/day8/input.txt");
+    @Override
+    public int day() {
+        return 8;
+    }
 
+    @Override
+    public Network parse(InputFile input) {
         Map<String, List<String>> nodes = new HashMap<>();
-        String instructions;
-
-        try {
-            Scanner scanner = new Scanner(input);
-            instructions = scanner.nextLine();
-            scanner.nextLine();
-            while (scanner.hasNext()) {
-                String nextLine = scanner.nextLine();
-                LinkedList<String> lineNode = new LinkedList<>(getNodesFromString(nextLine));
-
-                nodes.put(lineNode.removeFirst(), lineNode);
-            }
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
+        Iterator<ByteView> lines = input.lines().iterator();
+        String instructions = lines.next().toString();
+        lines.next();
+        while (lines.hasNext()) {
+            String nextLine = lines.next().toString();
+            LinkedList<String> lineNode = new LinkedList<>(getNodesFromString(nextLine));
+
+            nodes.put(lineNode.removeFirst(), lineNode);
         }
 
-        //Puzzle 1
-        System.out.println("First puzzle result: " + getStepCount(nodes, "AAA", instructions, "ZZZ"));
+        return new Network(instructions, nodes);
+    }
+
+    @Override
+    public Object part1(Network network) {
+        return getStepCount(network.nodes(), "AAA", network.instructions(), "ZZZ");
+    }
+
+    @Override
+    public Object part2(Network network) {
+        Map<String, List<String>> nodes = network.nodes();
+        String instructions = network.instructions();
 
-        //Puzzle 2
         //Each node has the same steps count to come to the next node that ends with "Z", e.g. 11A need 5000 steps to
         // come to node 22Z then 5000 steps more to come to node 33Z then 5000 steps more to come to node 44Z and so on
         // So solution is find the count of steps for each start node and then find a least common multiple for all
@@ -117,7 +132,7 @@ public class Main {
             result = lcm(result, number);
         }
 
-        System.out.println("Second puzzle result: " + result);
+        return result;
     }
 
     public static long lcm(long number1, long number2) {
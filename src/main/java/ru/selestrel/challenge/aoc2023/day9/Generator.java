@@ -0,0 +1,51 @@
+package ru.selestrel.challenge.aoc2023.day9;
+
+import ru.selestrel.challenge.aoc2023.InputGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Report of size histories with 21 values each. Every history is a polynomial of degree 0-6 with small coefficients,
+ * so differences always reach a constant sequence.
+ */
+public class Generator implements InputGenerator {
+
+    private static final int VALUES = 21;
+    private static final int MAX_DEGREE = 6;
+
+    @Override
+    public int day() {
+        return 9;
+    }
+
+    @Override
+    public int defaultSize() {
+        return 100_000;
+    }
+
+    @Override
+    public void generate(int size, Random random, Writer out) throws IOException {
+        long[] coefficients = new long[MAX_DEGREE + 1];
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            int degree = random.nextInt(MAX_DEGREE + 1);
+            for (int k = 0; k <= MAX_DEGREE; k++) {
+                coefficients[k] = k <= degree ? random.nextInt(11) - 5 : 0;
+            }
+            line.setLength(0);
+            for (int x = 0; x < VALUES; x++) {
+                //value = sum of coefficient * C(x, k), so the k-th differences start with the k-th coefficient
+                long value = 0;
+                long binomial = 1;
+                for (int k = 0; k <= degree; k++) {
+                    value += coefficients[k] * binomial;
+                    binomial = binomial * (x - k) / (k + 1);
+                }
+                line.append(x == 0 ? "" : " ").append(value);
+            }
+            out.append(line).append('\n');
+        }
+    }
+}
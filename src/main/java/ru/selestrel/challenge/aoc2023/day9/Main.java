@@ -1,12 +1,13 @@
 package ru.selestrel.challenge.aoc2023.day9;
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import ru.selestrel.challenge.aoc2023.Solver;
+import ru.selestrel.challenge.aoc2023.StreamingSolver;
+import ru.selestrel.challenge.aoc2023.input.ByteCursor;
+import ru.selestrel.challenge.aoc2023.input.ByteView;
+import ru.selestrel.challenge.aoc2023.input.InputFile;
+
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Scanner;
 
 /**
  * Puzzle
@@ -98,59 +99,100 @@ import java.util.Scanner;
  * these extrapolated values?
  */
 
-public class Main {
+public class Main implements Solver<List<int[]>>, StreamingSolver {
 
     public static void main(String[] args) {
+        new Main().solve().print();
+    }
 
-        File input = new File("src/main/java/ru/selestrel/challenge/aoc2023/day9/input.txt");
-        List<List<Integer>> stories = new ArrayList<>();
+    @Override
+    public int day() {
+        return 9;
+    }
 
-        try {
-            Scanner scanner = new Scanner(input);
+    @Override
+    public List<int[]> parse(InputFile input) {
+        List<int[]> stories = new ArrayList<>();
 
-            while (scanner.hasNext()) {
-                stories.add(Arrays.stream(scanner.nextLine().split(" ")).map(Integer::parseInt).toList());
-            }
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
+        for (ByteView line : input.lines()) {
+            stories.add(parseStory(line));
         }
 
-        List<List<Integer>> previousAndNextValues = stories.stream().map(Main::getNextAndPreviousStoryValues).toList();
+        return stories;
+    }
+
+    private static int[] parseStory(ByteView line) {
+        return new ByteCursor(line).nextInts();
+    }
+
+    @Override
+    public Object part1(List<int[]> stories) {
+        return stories.stream().map(Main::getNextAndPreviousStoryValues).map(values -> values.get(1))
+                .reduce(0, Integer::sum);
+    }
+
+    @Override
+    public Object part2(List<int[]> stories) {
+        return stories.stream().map(Main::getNextAndPreviousStoryValues).map(values -> values.get(0))
+                .reduce(0, Integer::sum);
+    }
 
-        //Puzzle 1
-        System.out.println("First puzzle result: " + previousAndNextValues.stream().map(values -> values.get(1))
-                .reduce(0, Integer::sum));
+    @Override
+    public Fold newFold() {
+        return new Fold() {
+            private int nextSum = 0;
+            private int previousSum = 0;
 
-        //Puzzle 2
-        System.out.println("Second puzzle result: " + previousAndNextValues.stream().map(values -> values.get(0))
-                .reduce(0, Integer::sum));
+            @Override
+            public void accept(ByteView line) {
+                List<Integer> values = getNextAndPreviousStoryValues(parseStory(line));
+                previousSum += values.get(0);
+                nextSum += values.get(1);
+            }
+
+            @Override
+            public Object part1() {
+                return nextSum;
+            }
+
+            @Override
+            public Object part2() {
+                return previousSum;
+            }
+        };
     }
 
-    private static List<Integer> getNextAndPreviousStoryValues(List<Integer> story) {
+    private static List<Integer> getNextAndPreviousStoryValues(int[] story) {
         int nextValue = 0;
-        List<Integer> firstValues = new ArrayList<>();
-        List<Integer> modifiedStory = new ArrayList<>(story);
-        while (!verifyAllEquals(modifiedStory)) {
-            int indexLast = modifiedStory.size() - 1;
-            List<Integer> diffs = new ArrayList<>();
-            nextValue += modifiedStory.get(indexLast);
-            firstValues.add(modifiedStory.get(0));
-            for (int i = 0; i < indexLast; i++) {
-                diffs.add(modifiedStory.get(i + 1) - modifiedStory.get(i));
+        int[] firstValues = new int[story.length];
+        int levels = 0;
+        //differences replace the story values in place, size is the length of the current sequence
+        int[] modifiedStory = story.clone();
+        int size = modifiedStory.length;
+        while (!verifyAllEquals(modifiedStory, size)) {
+            nextValue += modifiedStory[size - 1];
+            firstValues[levels++] = modifiedStory[0];
+            for (int i = 0; i < size - 1; i++) {
+                modifiedStory[i] = modifiedStory[i + 1] - modifiedStory[i];
             }
-            modifiedStory = diffs;
+            size--;
         }
 
-        int previousValue = modifiedStory.get(0);
-        for (int i = firstValues.size() - 1; i > -1; i--) {
-            previousValue = firstValues.get(i) - previousValue;
+        int previousValue = modifiedStory[0];
+        for (int i = levels - 1; i > -1; i--) {
+            previousValue = firstValues[i] - previousValue;
         }
-        nextValue += modifiedStory.get(0);
+        nextValue += modifiedStory[0];
 
         return List.of(previousValue, nextValue);
     }
 
-    private static boolean verifyAllEquals(List<Integer> list) {
-        return new HashSet<>(list).size() <= 1;
+    private static boolean verifyAllEquals(int[] values, int size) {
+        for (int i = 1; i < size; i++) {
+            if (values[i] != values[0]) {
+                return false;
+            }
+        }
+        return true;
     }
 }
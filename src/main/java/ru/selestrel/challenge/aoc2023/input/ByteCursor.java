@@ -0,0 +1,219 @@
+package ru.selestrel.challenge.aoc2023.input;
+
+import java.util.Arrays;
+
+/**
+ * Reads numbers and skips separators directly from the bytes of a {@link ByteView}, without intermediate strings or
+ * boxed values. The cursor can be reused for the next view with {@link #reset(ByteView)}. Numbers are ASCII digits
+ * with an optional minus sign and must fit into the requested type.
+ */
+public final class ByteCursor {
+
+    private ByteView view;
+    private int position;
+    private int limit;
+
+    /**
+     * Cursor without a view, {@link #reset(ByteView)} must be called before reading
+     */
+    public ByteCursor() {
+    }
+
+    public ByteCursor(ByteView view) {
+        reset(view);
+    }
+
+    public ByteCursor reset(ByteView view) {
+        return reset(view, 0, view.length());
+    }
+
+    /**
+     * Read only [from, to) of the view, e.g. one line of a larger view without slicing it
+     */
+    public ByteCursor reset(ByteView view, int from, int to) {
+        this.view = view;
+        this.position = from;
+        this.limit = to;
+        return this;
+    }
+
+    public ByteView view() {
+        return view;
+    }
+
+    /**
+     * @return position relative to the view start
+     */
+    public int position() {
+        return position;
+    }
+
+    public boolean hasNext() {
+        return position < limit;
+    }
+
+    /**
+     * Skip spaces, tabs and line breaks
+     */
+    public ByteCursor skipWhitespace() {
+        while (position < limit && isWhitespace(view.byteAt(position))) {
+            position++;
+        }
+        return this;
+    }
+
+    /**
+     * Skip the expected byte
+     *
+     * @throws IllegalArgumentException if the current byte is different
+     */
+    public ByteCursor skip(byte expected) {
+        if (!skipIf(expected)) {
+            throw unexpected("'" + (char) expected + "'");
+        }
+        return this;
+    }
+
+    /**
+     * Skip the expected ASCII literal
+     *
+     * @throws IllegalArgumentException if the next bytes are different
+     */
+    public ByteCursor skip(String literal) {
+        if (position + literal.length() > limit) {
+            throw unexpected("\"" + literal + "\"");
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (view.byteAt(position + i) != literal.charAt(i)) {
+                throw unexpected("\"" + literal + "\"");
+            }
+        }
+        position += literal.length();
+        return this;
+    }
+
+    /**
+     * @return true if the current byte is the value and it is skipped
+     */
+    public boolean skipIf(byte value) {
+        if (position < limit && view.byteAt(position) == value) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Move after the next occurrence of the value, or to the end if there is none
+     */
+    public ByteCursor skipPast(byte value) {
+        int index = view.indexOf(value, position);
+        position = index == -1 || index >= limit ? limit : index + 1;
+        return this;
+    }
+
+    /**
+     * @return true if a number follows after whitespace (the whitespace is skipped)
+     */
+    public boolean hasNextNumber() {
+        skipWhitespace();
+        if (position >= limit) {
+            return false;
+        }
+        byte value = view.byteAt(position);
+        return isDigit(value) || value == '-' && position + 1 < limit && isDigit(view.byteAt(position + 1));
+    }
+
+    /**
+     * Skip whitespace and read a number
+     *
+     * @throws IllegalArgumentException if there is no number
+     */
+    public long nextLong() {
+        if (!hasNextNumber()) {
+            throw unexpected("number");
+        }
+        boolean negative = skipIf((byte) '-');
+        long value = 0;
+        while (position < limit && isDigit(view.byteAt(position))) {
+            value = value * 10 + (view.byteAt(position) - '0');
+            position++;
+        }
+        return negative ? -value : value;
+    }
+
+    public int nextInt() {
+        return Math.toIntExact(nextLong());
+    }
+
+    /**
+     * Skip whitespace and ASCII letters, the word ends at the new position
+     *
+     * @return skipped letters count
+     */
+    public int skipWord() {
+        skipWhitespace();
+        int start = position;
+        while (position < limit && isLetter(view.byteAt(position))) {
+            position++;
+        }
+        return position - start;
+    }
+
+    /**
+     * Read whitespace separated numbers up to the first byte that is not a part of a number
+     */
+    public int[] nextInts() {
+        return nextInts((byte) ' ');
+    }
+
+    /**
+     * Read numbers separated by the separator (whitespace around it is allowed) up to the first number that is not
+     * followed by the separator
+     */
+    public int[] nextInts(byte separator) {
+        int[] values = new int[8];
+        int count = 0;
+        while (hasNextNumber()) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = nextInt();
+            if (!isWhitespace(separator) && !skipWhitespace().skipIf(separator)) {
+                break;
+            }
+        }
+        return Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Read whitespace separated numbers up to the first byte that is not a part of a number
+     */
+    public long[] nextLongs() {
+        long[] values = new long[8];
+        int count = 0;
+        while (hasNextNumber()) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = nextLong();
+        }
+        return Arrays.copyOf(values, count);
+    }
+
+    private IllegalArgumentException unexpected(String expected) {
+        return new IllegalArgumentException("Expected " + expected + " at position " + position);
+    }
+
+    private static boolean isDigit(byte value) {
+        return value >= '0' && value <= '9';
+    }
+
+    private static boolean isLetter(byte value) {
+        return value >= 'a' && value <= 'z' || value >= 'A' && value <= 'Z';
+    }
+
+    private static boolean isWhitespace(byte value) {
+        return value == ' ' || value == '\t' || value == '\r' || value == '\n';
+    }
+}
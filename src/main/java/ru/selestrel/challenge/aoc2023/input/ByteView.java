@@ -0,0 +1,136 @@
+package ru.selestrel.challenge.aoc2023.input;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Read-only window (offset + length) over a {@link ByteBuffer}. Lines of an input file are returned as views, so
+ * nothing is copied until {@link #toString()} is called explicitly.
+ */
+public final class ByteView {
+
+    private static final byte NEW_LINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    public ByteView(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * @return byte in index position relative to the view start
+     */
+    public byte byteAt(int index) {
+        return buffer.get(offset + index);
+    }
+
+    /**
+     * @return view of [from, to) positions relative to the view start
+     */
+    public ByteView slice(int from, int to) {
+        return new ByteView(buffer, offset + from, to - from);
+    }
+
+    /**
+     * @return index of the first occurrence of the value starting from the from position, or -1
+     */
+    public int indexOf(byte value, int from) {
+        for (int i = from; i < length; i++) {
+            if (buffer.get(offset + i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int indexOf(byte value) {
+        return indexOf(value, 0);
+    }
+
+    public boolean contains(byte value) {
+        return indexOf(value) != -1;
+    }
+
+    /**
+     * @return true if the view holds exactly the characters of the ASCII string
+     */
+    public boolean contentEquals(String string) {
+        return contentEquals(0, length, string);
+    }
+
+    /**
+     * @return true if [from, to) positions hold exactly the characters of the ASCII string
+     */
+    public boolean contentEquals(int from, int to, String string) {
+        if (string.length() != to - from) {
+            return false;
+        }
+        for (int i = 0; i < string.length(); i++) {
+            if (byteAt(from + i) != string.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Split view by line breaks ("\n" or "\r\n"). Empty lines are kept, the trailing line break does not produce an
+     * empty last line (the same way {@link java.util.Scanner#nextLine()} works).
+     */
+    public Iterable<ByteView> lines() {
+        return () -> new Iterator<>() {
+            private int position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return position < length;
+            }
+
+            @Override
+            public ByteView next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int end = indexOf(NEW_LINE, position);
+                int next = end == -1 ? length : end + 1;
+                end = end == -1 ? length : end;
+                if (end > position && byteAt(end - 1) == CARRIAGE_RETURN) {
+                    end--;
+                }
+                ByteView line = slice(position, end);
+                position = next;
+                return line;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,52 @@
+package ru.selestrel.challenge.aoc2023.input;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Puzzle input mapped into memory with {@link FileChannel#map}. The file is not read into the heap: lines are
+ * {@link ByteView}s over the mapped buffer.
+ */
+public final class InputFile {
+
+    private final Path path;
+    private final ByteView content;
+
+    private InputFile(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.content = new ByteView(buffer, 0, buffer.limit());
+    }
+
+    /**
+     * Map the whole file in read-only mode. The mapping stays valid after the channel is closed.
+     *
+     * @param path file to map
+     * @return mapped input
+     */
+    public static InputFile map(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Input file is too large to map: " + path + " (" + size + " bytes)");
+            }
+            return new InputFile(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public ByteView content() {
+        return content;
+    }
+
+    public Iterable<ByteView> lines() {
+        return content.lines();
+    }
+}
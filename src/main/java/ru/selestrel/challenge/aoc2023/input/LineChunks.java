@@ -0,0 +1,34 @@
+package ru.selestrel.challenge.aoc2023.input;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Split of a view into chunks that end with a line break, so every line is in exactly one chunk and the chunks can be
+ * processed on different threads.
+ */
+public final class LineChunks {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private LineChunks() {
+    }
+
+    /**
+     * @return chunks of at least chunkSize bytes (the last one may be shorter) extended to the end of their last line
+     */
+    public static List<ByteView> split(ByteView view, int chunkSize) {
+        List<ByteView> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < view.length()) {
+            int end = view.length();
+            if (view.length() - start > chunkSize) {
+                int lineEnd = view.indexOf((byte) '\n', start + chunkSize - 1);
+                end = lineEnd == -1 ? view.length() : lineEnd + 1;
+            }
+            chunks.add(view.slice(start, end));
+            start = end;
+        }
+        return chunks;
+    }
+}
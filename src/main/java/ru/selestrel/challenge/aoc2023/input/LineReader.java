@@ -0,0 +1,76 @@
+package ru.selestrel.challenge.aoc2023.input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.function.Consumer;
+
+/**
+ * Read lines from a channel (stdin, a pipe or a file) through one reusable buffer, so memory depends on the longest
+ * line and not on the input size. Lines are split the same way as {@link ByteView#lines()}. The buffer grows only when
+ * a single line does not fit into it.
+ */
+public final class LineReader {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final byte NEW_LINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final ReadableByteChannel channel;
+    private ByteBuffer buffer;
+
+    public LineReader(ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public LineReader(ReadableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Pass every line to the consumer. The view is valid only during the call: its bytes are overwritten by the next
+     * lines.
+     */
+    public void forEach(Consumer<ByteView> consumer) {
+        try {
+            //buffer is in write mode, [0, position) holds unprocessed bytes
+            int scanned = 0;
+            boolean end = false;
+            while (!end) {
+                if (!buffer.hasRemaining()) {
+                    ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                    larger.put(buffer.flip());
+                    buffer = larger;
+                }
+                end = channel.read(buffer) == -1;
+
+                int start = 0;
+                for (int i = scanned; i < buffer.position(); i++) {
+                    if (buffer.get(i) == NEW_LINE) {
+                        accept(consumer, start, i);
+                        start = i + 1;
+                    }
+                }
+                if (end && start < buffer.position()) {
+                    accept(consumer, start, buffer.position());
+                    start = buffer.position();
+                }
+
+                buffer.flip().position(start);
+                buffer.compact();
+                scanned = buffer.position();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void accept(Consumer<ByteView> consumer, int start, int end) {
+        if (end > start && buffer.get(end - 1) == CARRIAGE_RETURN) {
+            end--;
+        }
+        consumer.accept(new ByteView(buffer, start, end - start));
+    }
+}
@@ -0,0 +1,89 @@
+package ru.selestrel.challenge.aoc2023.instrument;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Measure solver phases: wall time with {@link System#nanoTime()}, heap allocated by all threads with
+ * {@link com.sun.management.ThreadMXBean} and a {@link PhaseEvent} for Flight Recorder. Phases may run parts of the
+ * work on fork-join pool workers, so allocations are summed over every live thread; they belong to the phase only if
+ * nothing else runs in the JVM at the same time. Allocations of threads that end during the phase are not counted.
+ */
+public final class Instrumentation {
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = getThreadBean();
+
+    private Instrumentation() {
+    }
+
+    /**
+     * Run the phase on the current thread and pass its measurement to the listener
+     *
+     * @return phase result
+     */
+    public static <R> R measure(int day, Phase phase, boolean singlePass, Supplier<R> action,
+                                Consumer<Measurement> listener) {
+        PhaseEvent event = new PhaseEvent();
+        event.begin();
+        Map<Long, Long> allocatedBefore = getAllocatedBytes();
+        long start = System.nanoTime();
+
+        R result = action.get();
+
+        long nanos = System.nanoTime() - start;
+        long allocated = allocatedBefore == null ? -1 : getAllocatedSince(allocatedBefore);
+        event.end();
+        if (event.shouldCommit()) {
+            event.day = day;
+            event.phase = phase.name();
+            event.singlePass = singlePass;
+            event.allocatedBytes = allocated;
+            event.commit();
+        }
+        listener.accept(new Measurement(day, phase, singlePass, nanos, allocated));
+
+        return result;
+    }
+
+    /**
+     * @return bytes allocated by every live thread by thread id, or null if allocations can not be measured
+     */
+    private static Map<Long, Long> getAllocatedBytes() {
+        if (THREAD_BEAN == null) {
+            return null;
+        }
+        long[] ids = THREAD_BEAN.getAllThreadIds();
+        long[] bytes = THREAD_BEAN.getThreadAllocatedBytes(ids);
+        Map<Long, Long> allocated = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            //-1 for a thread that ended after the ids were read
+            if (bytes[i] != -1) {
+                allocated.put(ids[i], bytes[i]);
+            }
+        }
+        return allocated;
+    }
+
+    /**
+     * Threads started after the start allocated nothing before it
+     */
+    private static long getAllocatedSince(Map<Long, Long> start) {
+        long allocated = 0;
+        for (Map.Entry<Long, Long> thread : getAllocatedBytes().entrySet()) {
+            allocated += thread.getValue() - start.getOrDefault(thread.getKey(), 0L);
+        }
+        return allocated;
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+}
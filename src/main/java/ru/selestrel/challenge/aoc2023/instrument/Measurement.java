@@ -0,0 +1,9 @@
+package ru.selestrel.challenge.aoc2023.instrument;
+
+/**
+ * Wall time and heap allocated by all threads during one phase of a day. allocatedBytes is -1 if the JVM can not
+ * measure thread allocations. singlePass is true if the day is solved in the parse phase, see
+ * {@link ru.selestrel.challenge.aoc2023.Solver#isSinglePass()}.
+ */
+public record Measurement(int day, Phase phase, boolean singlePass, long nanos, long allocatedBytes) {
+}
@@ -0,0 +1,7 @@
+package ru.selestrel.challenge.aoc2023.instrument;
+
+public enum Phase {
+    PARSE,
+    PART1,
+    PART2
+}
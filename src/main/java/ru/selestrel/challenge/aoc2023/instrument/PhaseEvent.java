@@ -0,0 +1,30 @@
+package ru.selestrel.challenge.aoc2023.instrument;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event of one solver phase, recorded when the application runs with Flight Recorder enabled
+ * (e.g. -XX:StartFlightRecording).
+ */
+@Name("ru.selestrel.challenge.aoc2023.Phase")
+@Label("Solver Phase")
+@Category("AoC 2023")
+class PhaseEvent extends Event {
+
+    @Label("Day")
+    int day;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Single Pass")
+    boolean singlePass;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
@@ -0,0 +1,49 @@
+package ru.selestrel.challenge.aoc2023.instrument;
+
+import java.io.PrintWriter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Machine-readable report of phase measurements ordered by day and phase. singlePass marks the phases of a day solved
+ * in the parse phase: its parse includes both puzzles.
+ */
+public final class Report {
+
+    public enum Format {
+        JSON,
+        CSV
+    }
+
+    private Report() {
+    }
+
+    public static void write(List<Measurement> measurements, Format format, PrintWriter out) {
+        List<Measurement> ordered = measurements.stream()
+                .sorted(Comparator.comparingInt(Measurement::day).thenComparing(Measurement::phase))
+                .toList();
+
+        if (format == Format.CSV) {
+            out.println("day,phase,singlePass,nanos,allocatedBytes");
+            for (Measurement m : ordered) {
+                out.printf("%d,%s,%b,%d,%d%n", m.day(), getPhaseName(m), m.singlePass(), m.nanos(),
+                        m.allocatedBytes());
+            }
+        } else {
+            out.println("[");
+            for (int i = 0; i < ordered.size(); i++) {
+                Measurement m = ordered.get(i);
+                out.printf("  {\"day\": %d, \"phase\": \"%s\", \"singlePass\": %b, \"nanos\": %d, "
+                                + "\"allocatedBytes\": %d}%s%n", m.day(), getPhaseName(m), m.singlePass(), m.nanos(),
+                        m.allocatedBytes(), i < ordered.size() - 1 ? "," : "");
+            }
+            out.println("]");
+        }
+        out.flush();
+    }
+
+    private static String getPhaseName(Measurement measurement) {
+        return measurement.phase().name().toLowerCase(Locale.ROOT);
+    }
+}